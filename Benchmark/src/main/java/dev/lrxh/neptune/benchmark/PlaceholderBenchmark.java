@@ -0,0 +1,98 @@
+package dev.lrxh.neptune.benchmark;
+
+import dev.lrxh.neptune.providers.placeholder.PlaceholderResolver;
+import dev.lrxh.neptune.providers.placeholder.PlaceholderTemplate;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Formats the default solo in-match and lobby scoreboards, once through compiled templates
+ * and once through the replaceAll chain PlaceholderUtil used before them.
+ * Values are constants so only the string work is measured, not the lookups behind them.
+ * <p>
+ * Run with {@code mvn -P benchmark package} and {@code java -jar Benchmark/target/benchmarks.jar}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlaceholderBenchmark {
+    private static final List<String> LINES = List.of(
+            "&7&m--------------------",
+            "&bFighting: &f<opponent>",
+            " ",
+            "&aYour Ping: &f<ping>ms",
+            "&cTheir Ping: &f<opponent-ping>ms",
+            " ",
+            "&bserver.net",
+            "&7&m--------------------",
+            "&fOnline: &b<online>",
+            "&fIn Fights: &b<in-match>",
+            "&fHits: &a<hits> <combo>&7/&c<opponent-hits> <opponent-combo>",
+            "&fDifference: <diffrence>",
+            "&fDuration: &b<time>"
+    );
+
+    /**
+     * Placeholders in the order the legacy chain replaced them for a player fighting a solo match
+     */
+    private static final Map<String, String> VALUES = new LinkedHashMap<>();
+
+    static {
+        VALUES.put("<online>", "214");
+        VALUES.put("<queued>", "12");
+        VALUES.put("<in-match>", "87");
+        VALUES.put("<player>", "lrxh");
+        VALUES.put("<ping>", "34");
+        VALUES.put("<wins>", "1021");
+        VALUES.put("<losses>", "433");
+        VALUES.put("<currentStreak>", "7");
+        VALUES.put("<opponent>", "Notch");
+        VALUES.put("<opponent-ping>", "58");
+        VALUES.put("<combo>", "&e(3 Combo)");
+        VALUES.put("<opponent-combo>", "");
+        VALUES.put("<hits>", "42");
+        VALUES.put("<opponent-hits>", "29");
+        VALUES.put("<diffrence>", "&a(+13)");
+        VALUES.put("<time>", "02:41");
+    }
+
+    private final StringBuilder builder = new StringBuilder(64);
+    private List<PlaceholderTemplate> templates;
+
+    @Setup
+    public void setup() {
+        Map<String, PlaceholderResolver> registry = new LinkedHashMap<>();
+        VALUES.forEach((key, value) -> registry.put(key, context -> value));
+
+        templates = new ArrayList<>(LINES.size());
+        for (String line : LINES) {
+            templates.add(PlaceholderTemplate.compile(line, registry));
+        }
+    }
+
+    @Benchmark
+    public void template(Blackhole blackhole) {
+        for (PlaceholderTemplate template : templates) {
+            blackhole.consume(template.format(null, builder));
+        }
+    }
+
+    @Benchmark
+    public void replaceAll(Blackhole blackhole) {
+        for (String line : LINES) {
+            for (Map.Entry<String, String> entry : VALUES.entrySet()) {
+                line = line.replaceAll(entry.getKey(), entry.getValue());
+            }
+            blackhole.consume(line);
+        }
+    }
+}
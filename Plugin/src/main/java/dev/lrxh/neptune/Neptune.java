@@ -20,14 +20,18 @@ import dev.lrxh.neptune.feature.hotbar.listener.ItemListener;
 import dev.lrxh.neptune.feature.party.command.PartyCommand;
 import dev.lrxh.neptune.feature.queue.command.QueueCommand;
 import dev.lrxh.neptune.feature.queue.command.QuickQueueCommand;
+import dev.lrxh.neptune.feature.queue.tasks.MatchmakingTask;
 import dev.lrxh.neptune.feature.queue.tasks.QueueCheckTask;
 import dev.lrxh.neptune.feature.queue.tasks.QueueMessageTask;
 import dev.lrxh.neptune.game.arena.Arena;
+import dev.lrxh.neptune.game.arena.ArenaResetService;
 import dev.lrxh.neptune.game.arena.ArenaService;
 import dev.lrxh.neptune.game.arena.command.ArenaProvider;
 import dev.lrxh.neptune.game.arena.command.StandaloneArenaProvider;
 import dev.lrxh.neptune.game.arena.impl.StandAloneArena;
 import dev.lrxh.neptune.game.arena.procedure.ArenaProcedureListener;
+import dev.lrxh.neptune.game.arena.tasks.ArenaPoolTask;
+import dev.lrxh.neptune.game.arena.tasks.ArenaResetTask;
 import dev.lrxh.neptune.game.divisions.DivisionService;
 import dev.lrxh.neptune.game.duel.command.DuelCommand;
 import dev.lrxh.neptune.game.kit.Kit;
@@ -38,16 +42,18 @@ import dev.lrxh.neptune.game.kit.command.StatsCommand;
 import dev.lrxh.neptune.game.kit.procedure.KitProcedureListener;
 import dev.lrxh.neptune.game.leaderboard.LeaderboardService;
 import dev.lrxh.neptune.game.leaderboard.command.LeaderboardCommand;
-import dev.lrxh.neptune.game.leaderboard.task.LeaderboardTask;
 import dev.lrxh.neptune.game.match.MatchService;
 import dev.lrxh.neptune.game.match.commands.MatchHistoryCommand;
 import dev.lrxh.neptune.game.match.commands.SpectateCommand;
 import dev.lrxh.neptune.game.match.listener.BlockTracker;
 import dev.lrxh.neptune.game.match.listener.MatchListener;
 import dev.lrxh.neptune.main.MainCommand;
+import dev.lrxh.neptune.profile.ProfileSaveService;
 import dev.lrxh.neptune.profile.ProfileService;
 import dev.lrxh.neptune.profile.listener.ProfileListener;
+import dev.lrxh.neptune.profile.tasks.ProfileSaveTask;
 import dev.lrxh.neptune.providers.database.DatabaseService;
+import dev.lrxh.neptune.providers.database.impl.IDatabase;
 import dev.lrxh.neptune.providers.hider.EntityHider;
 import dev.lrxh.neptune.providers.hider.listeners.BukkitListener;
 import dev.lrxh.neptune.providers.hider.listeners.PacketInterceptor;
@@ -81,6 +87,7 @@ public final class Neptune extends JavaPlugin {
     private Cache cache;
     private boolean placeholder = false;
     private EntityHider entityHider;
+    private FastManager fastManager;
     @Setter
     private boolean allowJoin;
     @Setter
@@ -117,7 +124,7 @@ public final class Neptune extends JavaPlugin {
 
         DivisionService.get().loadDivisions();
 
-        LeaderboardService.get();
+        LeaderboardService.get().load();
 
         registerListeners();
         loadCommandManager();
@@ -126,7 +133,7 @@ public final class Neptune extends JavaPlugin {
         initAPIs();
 
         if (SettingsLocale.ENABLED_SCOREBOARD.getBoolean()) {
-            new FastManager(this, new ScoreboardAdapter());
+            fastManager = new FastManager(this, new ScoreboardAdapter(), SettingsLocale.SCOREBOARD_THREADS.getInt());
         }
 
         new KitConfiguration();
@@ -187,9 +194,14 @@ public final class Neptune extends JavaPlugin {
 
     private void loadTasks() {
         new QueueCheckTask().start(20L, this);
+        new MatchmakingTask().start(1L, this);
         new QueueMessageTask().start(100L, this);
         new EntityCacheRunnable().start(400L, this);
-        new LeaderboardTask().start(SettingsLocale.LEADERBOARD_UPDATE_TIME.getInt(), this);
+        new ArenaResetTask().start(1L, this);
+        new ArenaPoolTask().start(20L, 20L, this);
+        // Saves are written instantly with an interval of 0, the task then only retries failed writes
+        int saveInterval = SettingsLocale.DATABASE_SAVE_INTERVAL.getInt();
+        new ProfileSaveTask().startAsync(saveInterval > 0 ? saveInterval : 100, this);
     }
 
     private void loadCommandManager() {
@@ -220,8 +232,12 @@ public final class Neptune extends JavaPlugin {
         stopService(KitService.get(), KitService::saveKits);
         stopService(ArenaService.get(), ArenaService::saveArenas);
         stopService(MatchService.get(), MatchService::stopAllGames);
+        stopService(ArenaResetService.get(), ArenaResetService::flush);
         stopService(TaskScheduler.get(), TaskScheduler::stopAllTasks);
+        stopService(fastManager, FastManager::shutdown);
         stopService(ProfileService.get(), ProfileService::saveAll);
+        stopService(ProfileSaveService.get(), ProfileSaveService::drain);
+        stopService(DatabaseService.get().getDatabase(), IDatabase::close);
         stopService(cache, Cache::save);
     }
 
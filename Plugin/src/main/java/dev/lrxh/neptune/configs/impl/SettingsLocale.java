@@ -14,13 +14,25 @@ import java.util.List;
 @Getter
 public enum SettingsLocale implements IDataAccessor {
     ARENA_RESET_EXPERIMENTAL("ARENA_RESET_EXPERIMENTAL", DataType.BOOLEAN, "false"),
+    ARENA_RESET_QUEUE("ARENA_RESET.QUEUE", "Spread arena resets over multiple ticks instead of resetting all blocks at once.", DataType.BOOLEAN, "false"),
+    ARENA_RESET_BLOCKS_PER_TICK("ARENA_RESET.BLOCKS_PER_TICK", "Maximum amount of blocks the reset queue restores per tick.", DataType.INT, "2000"),
+    ARENA_POOL_ENABLED("ARENA_POOL.ENABLE", "Automatically generate and retire copies of standalone arenas used by build kits.", DataType.BOOLEAN, "false"),
+    ARENA_POOL_TARGET_FREE("ARENA_POOL.TARGET_FREE", "Amount of free arenas to keep ready for every pooled arena.", DataType.INT, "2"),
+    ARENA_POOL_MAX_COPIES("ARENA_POOL.MAX_COPIES", "Maximum amount of copies the pool can generate for one arena.", DataType.INT, "50"),
+    ARENA_POOL_RETIRE_AFTER("ARENA_POOL.RETIRE_AFTER", "How long in seconds extra free copies have to stay idle before one is removed.", DataType.INT, "300"),
+    ARENA_RESET_SECTION_DIFF("ARENA_RESET.SECTION_DIFF", "Restore standalone arenas by diffing touched chunk sections against a saved snapshot instead of recording every block change.", DataType.BOOLEAN, "false"),
+    ARENA_RESET_MILLIS_PER_TICK("ARENA_RESET.MILLIS_PER_TICK", "Maximum time in milliseconds the reset queue can use per tick.", DataType.INT, "5"),
     COMMANDS_AFTER_MATCH_WINNER("COMMAND_AFTER_MATCH.WINNER", DataType.STRING_LIST, "NONE"),
     COMMANDS_AFTER_MATCH_LOSER("COMMAND_AFTER_MATCH.LOSER", DataType.STRING_LIST, "NONE"),
     SPAWN_LOCATION("SPAWN.LOCATION", DataType.STRING, "NONE"),
-    LEADERBOARD_UPDATE_TIME("LEADERBOARD.UPDATE_TIME", "How often leaderboards should check in ticks.", DataType.INT, "20"),
     DATABASE_TYPE("DATABASE.TYPE", "Database Type. MONGO, MYSQL, SQLITE", DataType.STRING, "SQLITE"),
     URI("DATABASE.URI", "Connection URI.", DataType.STRING, "NONE"),
     DATABASE("DATABASE.DATABASE_NAME", "Database Name", DataType.STRING, "neptune"),
+    DATABASE_POOL_SIZE("DATABASE.POOL_SIZE", "Amount of connections kept open for MySQL and SQLite.", DataType.INT, "4"),
+    DATABASE_NORMALIZED("DATABASE.NORMALIZED", "Store MySQL and SQLite profiles in separate stats, loadout, settings and history tables. Existing data is migrated on the first start.", DataType.BOOLEAN, "false"),
+    DATABASE_FETCH_SIZE("DATABASE.FETCH_SIZE", "Amount of profiles fetched at once when reading every stored profile.", DataType.INT, "500"),
+    DATABASE_SAVE_INTERVAL("DATABASE.SAVE_INTERVAL", "How often in ticks queued profile saves are written to the database. 0 saves instantly.", DataType.INT, "100"),
+    DATABASE_SAVE_BATCH_SIZE("DATABASE.SAVE_BATCH_SIZE", "Maximum amount of profiles written per save interval.", DataType.INT, "200"),
     ENABLED_SCOREBOARD("SCOREBOARD.ENABLE", "Enable scoreboard in game", DataType.BOOLEAN, "false"),
     ENABLED_SCOREBOARD_LOBBY("SCOREBOARD.ENABLE_LOBBY", "Enable lobby scoreboard", DataType.BOOLEAN, "true"),
     ENABLED_SCOREBOARD_PARTY("SCOREBOARD.ENABLE_PARTY", "Enable party scoreboard", DataType.BOOLEAN, "true"),
@@ -37,6 +49,12 @@ public enum SettingsLocale implements IDataAccessor {
     ENABLED_SCOREBOARD_SPECTATOR("SCOREBOARD.ENABLE_SPECTATOR", "Enable spectator scoreboard", DataType.BOOLEAN, "true"),
     ENABLED_SCOREBOARD_SPECTATOR_TEAM("SCOREBOARD.ENABLE_SPECTATOR_TEAM", "Enable team spectator scoreboard", DataType.BOOLEAN, "true"),
     ENABLED_SCOREBOARD_SPECTATOR_FFA("SCOREBOARD.ENABLE_SPECTATOR_FFA", "Enable FFA spectator scoreboard", DataType.BOOLEAN, "true"),
+    SCOREBOARD_REFRESH_INGAME("SCOREBOARD.REFRESH.IN_GAME", "How often in ticks in-game and spectator scoreboards are updated.", DataType.INT, "2"),
+    SCOREBOARD_REFRESH_QUEUE("SCOREBOARD.REFRESH.IN_QUEUE", "How often in ticks queue scoreboards are updated.", DataType.INT, "10"),
+    SCOREBOARD_REFRESH_LOBBY("SCOREBOARD.REFRESH.LOBBY", "How often in ticks lobby, party and kit editor scoreboards are updated.", DataType.INT, "40"),
+    SCOREBOARD_THREADS("SCOREBOARD.THREADS", "Amount of threads scoreboard lines are colored and sent on. 0 does everything on the main thread, lines are always built on the main thread.", DataType.INT, "0"),
+    MATCHMAKING_DIVISIONS("MATCHMAKING.DIVISIONS", "Only match players of nearby kit divisions, the allowed gap widens the longer they wait.", DataType.BOOLEAN, "false"),
+    MATCHMAKING_DIVISION_WIDEN_TIME("MATCHMAKING.DIVISION_WIDEN_TIME", "How long in seconds a player waits before being matched one more division away.", DataType.INT, "10"),
     REQUEST_EXPIRY_TIME("REQUEST.EXPIRY_TIME", "How long a request should last in seconds.", DataType.INT, "30");
     private final String path;
     private final String comment;
@@ -0,0 +1,396 @@
+package dev.lrxh.neptune.feature.queue;
+
+import dev.lrxh.neptune.API;
+import dev.lrxh.neptune.configs.impl.MessagesLocale;
+import dev.lrxh.neptune.configs.impl.SettingsLocale;
+import dev.lrxh.neptune.game.divisions.DivisionService;
+import dev.lrxh.neptune.game.arena.Arena;
+import dev.lrxh.neptune.game.kit.Kit;
+import dev.lrxh.neptune.game.kit.impl.KitRule;
+import dev.lrxh.neptune.game.match.MatchService;
+import dev.lrxh.neptune.game.match.impl.participant.Participant;
+import dev.lrxh.neptune.profile.data.ProfileState;
+import dev.lrxh.neptune.profile.impl.Profile;
+import dev.lrxh.neptune.providers.clickable.Replacement;
+import dev.lrxh.neptune.utils.CC;
+import dev.lrxh.neptune.utils.PlayerUtil;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Pairs every compatible pair of every kit bucket in a single pass, optionally within nearby divisions.
+ * Buckets that did not change since their last pass are skipped until a ping sample expires or a division window widens.
+ */
+public class MatchmakingEngine {
+    private static final int WAIT_SAMPLES = 512;
+    /**
+     * Pings only change when a keep alive is answered, so a sample is reused for this long
+     */
+    private static final long PING_SAMPLE_TIME = 1000L;
+    private static final Comparator<Candidate> BY_PING = Comparator.<Candidate>comparingInt(candidate -> candidate.ping)
+            .thenComparingLong(candidate -> candidate.entry.getJoinedAt())
+            .thenComparing(candidate -> candidate.entry.getUuid());
+    private static MatchmakingEngine instance;
+    private final Map<Kit, Pool> pools = new HashMap<>();
+    private final long[] waitSamples = new long[WAIT_SAMPLES];
+    private int sampleCount;
+    private int sampleIndex;
+    @Getter
+    private int lastMatches;
+    @Getter
+    private long totalMatches;
+
+    public static MatchmakingEngine get() {
+        if (instance == null) instance = new MatchmakingEngine();
+
+        return instance;
+    }
+
+    public void run() {
+        QueueService queueService = QueueService.get();
+        Map<Kit, List<QueueEntry>> buckets = queueService.getBuckets();
+        List<QueueEntry[]> pairs = new ArrayList<>();
+        long now = System.currentTimeMillis();
+
+        pools.keySet().retainAll(buckets.keySet());
+        for (Map.Entry<Kit, List<QueueEntry>> bucket : buckets.entrySet()) {
+            Pool pool = pools.get(bucket.getKey());
+            // An unchanged bucket can only pair differently once a ping sample expires or a division window widens
+            if (pool != null && pool.entries == bucket.getValue() && now < pool.nextRun) continue;
+
+            pool = createPool(bucket.getValue(), pool, now);
+            pools.put(bucket.getKey(), pool);
+            pair(pool, now, pairs);
+        }
+
+        int matches = 0;
+        for (QueueEntry[] pair : pairs) {
+            if (!queueService.removePair(pair[0], pair[1])) continue;
+
+            recordWait(now - pair[0].getJoinedAt());
+            recordWait(now - pair[1].getJoinedAt());
+
+            startMatch(pair[0], pair[1]);
+            matches++;
+        }
+
+        lastMatches = matches;
+        totalMatches += matches;
+    }
+
+    /**
+     * Build the candidates of a bucket, candidates of the previous pool are kept while their ping sample is fresh
+     * so only players that joined since or whose sample expired are looked up again.
+     */
+    private Pool createPool(List<QueueEntry> waiting, Pool previous, long now) {
+        boolean divisions = SettingsLocale.MATCHMAKING_DIVISIONS.getBoolean();
+        long widenTime = getWidenTime();
+
+        List<Candidate> candidates = new ArrayList<>(waiting.size());
+        long nextRun = Long.MAX_VALUE;
+        for (QueueEntry queueEntry : waiting) {
+            Candidate candidate = previous == null ? null : previous.candidates.get(queueEntry);
+            if (candidate == null || now - candidate.sampledAt >= PING_SAMPLE_TIME) {
+                Player player = Bukkit.getPlayer(queueEntry.getUuid());
+                Profile profile = API.getProfile(queueEntry.getUuid());
+                if (player == null || profile == null) {
+                    nextRun = Math.min(nextRun, now + PING_SAMPLE_TIME);
+                    continue;
+                }
+
+                int rank = divisions ? getDivisionRank(queueEntry, profile) : 0;
+                candidate = new Candidate(queueEntry, PlayerUtil.getPing(player), profile.getSettingData().getMaxPing(), rank, now);
+            }
+
+            candidates.add(candidate);
+            nextRun = Math.min(nextRun, candidate.sampledAt + PING_SAMPLE_TIME);
+            if (divisions) {
+                long waited = now - queueEntry.getJoinedAt();
+                nextRun = Math.min(nextRun, queueEntry.getJoinedAt() + (waited / widenTime + 1) * widenTime);
+            }
+        }
+
+        return new Pool(waiting, candidates, nextRun);
+    }
+
+    /**
+     * Candidates are split per division rank and indexed by ping, every candidate then takes the lowest ping
+     * opponent that both are within the max ping of, starting at its own division and widening with its wait time.
+     */
+    private void pair(Pool pool, long now, List<QueueEntry[]> pairs) {
+        if (pool.candidates.size() < 2) return;
+
+        boolean divisions = SettingsLocale.MATCHMAKING_DIVISIONS.getBoolean();
+        int maxRank = 0;
+        for (Candidate candidate : pool.candidates.values()) {
+            maxRank = Math.max(maxRank, candidate.rank);
+        }
+
+        List<List<Candidate>> byRank = new ArrayList<>(maxRank + 1);
+        for (int rank = 0; rank <= maxRank; rank++) {
+            byRank.add(new ArrayList<>());
+        }
+        for (Candidate candidate : pool.candidates.values()) {
+            byRank.get(candidate.rank).add(candidate);
+        }
+
+        List<PingIndex> ranks = new ArrayList<>(maxRank + 1);
+        for (List<Candidate> rank : byRank) {
+            ranks.add(new PingIndex(rank));
+        }
+
+        // Candidates are in join order, so the longest waiting players pick first
+        for (Candidate candidate : pool.candidates.values()) {
+            PingIndex own = ranks.get(candidate.rank);
+            if (!own.contains(candidate)) continue;
+            own.remove(candidate);
+
+            int window = divisions ? getWindow(now - candidate.entry.getJoinedAt()) : 0;
+            Candidate opponent = null;
+            for (int distance = 0; distance <= window && opponent == null; distance++) {
+                int lower = candidate.rank - distance;
+                int upper = candidate.rank + distance;
+                if (lower < 0 && upper > maxRank) break;
+
+                if (lower >= 0) opponent = ranks.get(lower).find(candidate);
+                if (opponent == null && distance > 0 && upper <= maxRank) opponent = ranks.get(upper).find(candidate);
+            }
+
+            if (opponent == null) {
+                own.restore(candidate);
+                continue;
+            }
+
+            ranks.get(opponent.rank).remove(opponent);
+            pairs.add(new QueueEntry[]{candidate.entry, opponent.entry});
+        }
+    }
+
+    private int getDivisionRank(QueueEntry queueEntry, Profile profile) {
+        if (DivisionService.get().divisions.isEmpty()) return 0;
+
+        if (queueEntry.getDivisionRank() == -1) {
+            int wins = profile.getGameData().get(queueEntry.getKit()).getWins();
+            queueEntry.setDivisionRank(DivisionService.get().getRank(DivisionService.get().getDivisionByWinCount(wins)));
+        }
+        return queueEntry.getDivisionRank();
+    }
+
+    private int getWindow(long waited) {
+        return (int) Math.min(Integer.MAX_VALUE - 1, waited / getWidenTime());
+    }
+
+    private long getWidenTime() {
+        return Math.max(1, SettingsLocale.MATCHMAKING_DIVISION_WIDEN_TIME.getInt()) * 1000L;
+    }
+
+    private void startMatch(QueueEntry queueEntry1, QueueEntry queueEntry2) {
+        UUID uuid1 = queueEntry1.getUuid();
+        UUID uuid2 = queueEntry2.getUuid();
+        Player player1 = Bukkit.getPlayer(uuid1);
+        Player player2 = Bukkit.getPlayer(uuid2);
+
+        if (player1 == null || player2 == null) return;
+
+        Kit kit = queueEntry1.getKit();
+        Participant participant1 = new Participant(player1);
+        Participant participant2 = new Participant(player2);
+        List<Participant> participants = Arrays.asList(participant1, participant2);
+
+        Arena arena = kit.getRandomArena();
+
+        if (arena == null) {
+            cancel(kit, uuid1, uuid2, "No arena was found!");
+            return;
+        }
+
+        if (!arena.isSetup()) {
+            cancel(kit, uuid1, uuid2, "Arena wasn't setup up properly! Please contact an admin if you see this.");
+            return;
+        }
+
+        //Send match found message
+        MessagesLocale.MATCH_FOUND.send(uuid1,
+                new Replacement("<opponent>", participant2.getNameUnColored()),
+                new Replacement("<kit>", kit.getDisplayName()),
+                new Replacement("<arena>", arena.getDisplayName()),
+                new Replacement("<opponent-ping>", String.valueOf(PlayerUtil.getPing(uuid2))),
+                new Replacement("<ping>", String.valueOf(PlayerUtil.getPing(uuid1))));
+
+        MessagesLocale.MATCH_FOUND.send(uuid2,
+                new Replacement("<opponent>", participant1.getNameUnColored()),
+                new Replacement("<kit>", kit.getDisplayName()),
+                new Replacement("<arena>", arena.getDisplayName()),
+                new Replacement("<opponent-ping>", String.valueOf(PlayerUtil.getPing(uuid1))),
+                new Replacement("<ping>", String.valueOf(PlayerUtil.getPing(uuid2))));
+
+        MatchService.get().startMatch(participants, kit,
+                arena, false, kit.is(KitRule.BEST_OF_ROUNDS) ? kit.getCustomRounds() : 1);
+    }
+
+    private void cancel(Kit kit, UUID uuid1, UUID uuid2, String message) {
+        API.getProfile(uuid1).setState(ProfileState.IN_LOBBY);
+        API.getProfile(uuid2).setState(ProfileState.IN_LOBBY);
+
+        kit.removeQueue();
+        kit.removeQueue();
+
+        PlayerUtil.sendMessage(uuid1, CC.error(message));
+        PlayerUtil.sendMessage(uuid2, CC.error(message));
+    }
+
+    private void recordWait(long millis) {
+        waitSamples[sampleIndex] = millis;
+        sampleIndex = (sampleIndex + 1) % WAIT_SAMPLES;
+        if (sampleCount < WAIT_SAMPLES) sampleCount++;
+    }
+
+    /**
+     * @param percentile between 0 and 100
+     * @return time to match in milliseconds of the recent matches at the given percentile
+     */
+    public long getWaitPercentile(double percentile) {
+        if (sampleCount == 0) return 0;
+
+        long[] sorted = Arrays.copyOf(waitSamples, sampleCount);
+        Arrays.sort(sorted);
+
+        int index = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    @RequiredArgsConstructor
+    private static class Candidate {
+        private final QueueEntry entry;
+        private final int ping;
+        private final int maxPing;
+        private final int rank;
+        private final long sampledAt;
+        /**
+         * Position in the ping index of its rank
+         */
+        private int index;
+    }
+
+    /**
+     * Candidates of a bucket kept between runs, the bucket is only paired again once its entries change or at next run.
+     */
+    private static class Pool {
+        private final List<QueueEntry> entries;
+        private final Map<QueueEntry, Candidate> candidates = new LinkedHashMap<>();
+        private final long nextRun;
+
+        private Pool(List<QueueEntry> entries, List<Candidate> candidates, long nextRun) {
+            this.entries = entries;
+            this.nextRun = nextRun;
+            for (Candidate candidate : candidates) {
+                this.candidates.put(candidate.entry, candidate);
+            }
+        }
+    }
+
+    /**
+     * Candidates of one division rank sorted by ping, with a max tree over their max ping on top.
+     * Both sides of the ping check are bounded, the ping of the opponent by a binary search and the max ping
+     * of the opponent by the tree, so finding an opponent never walks candidates that would refuse the match.
+     */
+    private static class PingIndex {
+        private static final int REMOVED = Integer.MIN_VALUE;
+        private final Candidate[] sorted;
+        private final int[] pings;
+        private final int leaves;
+        private final int[] maxPings;
+
+        private PingIndex(List<Candidate> candidates) {
+            sorted = candidates.toArray(new Candidate[0]);
+            Arrays.sort(sorted, BY_PING);
+
+            int leaves = 1;
+            while (leaves < sorted.length) leaves <<= 1;
+            this.leaves = leaves;
+
+            pings = new int[sorted.length];
+            maxPings = new int[leaves * 2];
+            Arrays.fill(maxPings, REMOVED);
+            for (int i = 0; i < sorted.length; i++) {
+                sorted[i].index = i;
+                pings[i] = sorted[i].ping;
+                maxPings[leaves + i] = sorted[i].maxPing;
+            }
+            for (int node = leaves - 1; node > 0; node--) {
+                maxPings[node] = Math.max(maxPings[node * 2], maxPings[node * 2 + 1]);
+            }
+        }
+
+        private boolean contains(Candidate candidate) {
+            return maxPings[leaves + candidate.index] != REMOVED;
+        }
+
+        private void remove(Candidate candidate) {
+            set(candidate.index, REMOVED);
+        }
+
+        private void restore(Candidate candidate) {
+            set(candidate.index, candidate.maxPing);
+        }
+
+        /**
+         * @return the lowest ping candidate under the max ping of the given one whose own max ping allows the given one
+         */
+        private Candidate find(Candidate candidate) {
+            int end = upperBound(candidate.maxPing);
+            if (end == 0) return null;
+
+            int index = first(1, 0, leaves, end, candidate.ping);
+            return index == -1 ? null : sorted[index];
+        }
+
+        private void set(int index, int value) {
+            int node = leaves + index;
+            maxPings[node] = value;
+            for (node >>= 1; node > 0; node >>= 1) {
+                maxPings[node] = Math.max(maxPings[node * 2], maxPings[node * 2 + 1]);
+            }
+        }
+
+        /**
+         * @return amount of candidates with a ping of at most the given one
+         */
+        private int upperBound(int ping) {
+            int low = 0;
+            int high = pings.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (pings[middle] <= ping) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * @return first position before end whose max ping is at least the given ping, -1 if there is none
+         */
+        private int first(int node, int from, int to, int end, int ping) {
+            if (from >= end || maxPings[node] < ping) return -1;
+            if (to - from == 1) return from;
+
+            int middle = (from + to) >>> 1;
+            int index = first(node * 2, from, middle, end, ping);
+            return index != -1 ? index : first(node * 2 + 1, middle, to, end, ping);
+        }
+    }
+}
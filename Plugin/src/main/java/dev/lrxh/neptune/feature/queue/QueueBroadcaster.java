@@ -0,0 +1,93 @@
+package dev.lrxh.neptune.feature.queue;
+
+import dev.lrxh.neptune.API;
+import dev.lrxh.neptune.configs.impl.MessagesLocale;
+import dev.lrxh.neptune.game.kit.Kit;
+import dev.lrxh.neptune.profile.impl.Profile;
+import dev.lrxh.neptune.providers.clickable.ClickableUtils;
+import dev.lrxh.neptune.providers.clickable.Replacement;
+import dev.lrxh.neptune.providers.placeholder.PlaceholderUtil;
+import dev.lrxh.neptune.utils.CC;
+import dev.lrxh.neptune.utils.PlayerUtil;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sends queue action bars and reminders to every queued player in one pass, text shared by players is only built once.
+ */
+public class QueueBroadcaster {
+    private static QueueBroadcaster instance;
+    private Map<String, Component> actionBars = new HashMap<>();
+
+    public static QueueBroadcaster get() {
+        if (instance == null) instance = new QueueBroadcaster();
+
+        return instance;
+    }
+
+    public void sendActionBars() {
+        String message = MessagesLocale.QUEUE_ACTION_BAR.getString();
+        if (message.equals("NONE")) return;
+
+        Map<Kit, String> kitMessages = new HashMap<>();
+        // Components still in use are carried over, the rest are dropped with the previous pass
+        Map<String, Component> previous = actionBars;
+        Map<String, Component> current = new HashMap<>();
+
+        for (QueueEntry queueEntry : QueueService.get().getEntries()) {
+            Player player = Bukkit.getPlayer(queueEntry.getUuid());
+            if (player == null) continue;
+
+            String kitMessage = kitMessages.computeIfAbsent(queueEntry.getKit(), kit -> message.replace("<kit>", kit.getDisplayName()));
+            String text = PlaceholderUtil.format(kitMessage, player);
+
+            Component component = current.get(text);
+            if (component == null) {
+                component = previous.get(text);
+                if (component == null) component = LegacyComponentSerializer.legacySection().deserialize(CC.color(text));
+                current.put(text, component);
+            }
+
+            player.sendActionBar(component);
+        }
+
+        actionBars = current;
+    }
+
+    public void sendReminders() {
+        if (!MessagesLocale.QUEUE_REPEAT_TOGGLE.getBoolean()) return;
+
+        Map<String, List<Component>> reminders = new HashMap<>();
+
+        for (QueueEntry queueEntry : QueueService.get().getEntries()) {
+            Player player = Bukkit.getPlayer(queueEntry.getUuid());
+            Profile profile = API.getProfile(queueEntry.getUuid());
+            if (player == null || profile == null) continue;
+
+            Kit kit = queueEntry.getKit();
+            int maxPing = profile.getSettingData().getMaxPing();
+
+            List<Component> components = reminders.computeIfAbsent(kit.getName() + ":" + maxPing, key -> {
+                List<Component> lines = new ArrayList<>();
+                for (String line : MessagesLocale.QUEUE_REPEAT.getStringList()) {
+                    if (line.equals("NONE")) continue;
+                    lines.add(PlayerUtil.toComponent(ClickableUtils.returnMessage(line,
+                            new Replacement("<kit>", kit.getDisplayName()),
+                            new Replacement("<maxPing>", String.valueOf(maxPing)))));
+                }
+                return lines;
+            });
+
+            for (Component component : components) {
+                player.sendMessage(component);
+            }
+        }
+    }
+}
@@ -13,10 +13,13 @@ public class QueueEntry {
     public final Time time;
     private final Kit kit;
     private final UUID uuid;
+    private final long joinedAt;
+    private int divisionRank = -1;
 
     public QueueEntry(Kit kit, UUID uuid) {
         this.kit = kit;
         this.uuid = uuid;
         this.time = new Time();
+        this.joinedAt = System.currentTimeMillis();
     }
 }
@@ -4,17 +4,28 @@ import dev.lrxh.neptune.API;
 import dev.lrxh.neptune.Neptune;
 import dev.lrxh.neptune.configs.impl.MessagesLocale;
 import dev.lrxh.neptune.feature.queue.events.QueueJoinEvent;
+import dev.lrxh.neptune.game.kit.Kit;
 import dev.lrxh.neptune.profile.data.ProfileState;
 import dev.lrxh.neptune.profile.impl.Profile;
 import dev.lrxh.neptune.providers.clickable.Replacement;
 import org.bukkit.Bukkit;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class QueueService {
     private static QueueService instance;
-    public final ConcurrentLinkedQueue<QueueEntry> queue = new ConcurrentLinkedQueue<>();
+    private final Map<UUID, QueueEntry> entries = new ConcurrentHashMap<>();
+    private final Map<Kit, LinkedHashSet<QueueEntry>> buckets = new HashMap<>();
+    /**
+     * Copies handed out by {@link #getBuckets()}, dropped whenever the bucket of the kit changes
+     */
+    private final Map<Kit, List<QueueEntry>> snapshots = new HashMap<>();
 
     public static QueueService get() {
         if (instance == null) instance = new QueueService();
@@ -32,12 +43,16 @@ public class QueueService {
 
         if (event.isCancelled()) return;
 
-        if (queue.contains(get(playerUUID))) return;
+        if (isQueued(playerUUID)) return;
         Profile profile = API.getProfile(playerUUID);
         if (profile.hasState(ProfileState.IN_GAME)) return;
         if (profile.getGameData().getParty() != null) return;
 
-        this.queue.offer(queueEntry);
+        synchronized (buckets) {
+            if (entries.putIfAbsent(playerUUID, queueEntry) != null) return;
+            buckets.computeIfAbsent(queueEntry.getKit(), kit -> new LinkedHashSet<>()).add(queueEntry);
+            snapshots.remove(queueEntry.getKit());
+        }
 
         profile.setState(ProfileState.IN_QUEUE);
         if (add) queueEntry.getKit().addQueue();
@@ -47,21 +62,68 @@ public class QueueService {
     }
 
     public void remove(UUID playerUUID) {
-        if (!queue.contains(get(playerUUID))) return;
-        get(playerUUID).getKit().removeQueue();
+        QueueEntry queueEntry;
+        synchronized (buckets) {
+            queueEntry = entries.remove(playerUUID);
+            if (queueEntry == null) return;
+            buckets.get(queueEntry.getKit()).remove(queueEntry);
+            snapshots.remove(queueEntry.getKit());
+        }
+
+        queueEntry.getKit().removeQueue();
+    }
 
-        queue.remove(get(playerUUID));
+    /**
+     * Take both entries out of the queue if both are still queued, without touching the kit queue count since they leave for a match.
+     */
+    boolean removePair(QueueEntry queueEntry1, QueueEntry queueEntry2) {
+        synchronized (buckets) {
+            if (entries.get(queueEntry1.getUuid()) != queueEntry1 || entries.get(queueEntry2.getUuid()) != queueEntry2) return false;
+
+            for (QueueEntry queueEntry : new QueueEntry[]{queueEntry1, queueEntry2}) {
+                entries.remove(queueEntry.getUuid());
+                buckets.get(queueEntry.getKit()).remove(queueEntry);
+                snapshots.remove(queueEntry.getKit());
+            }
+            return true;
+        }
     }
 
     public QueueEntry get(UUID uuid) {
-        for (QueueEntry queueEntry : queue) {
-            if (queueEntry.getUuid().equals(uuid)) return queueEntry;
+        return entries.get(uuid);
+    }
+
+    public boolean isQueued(UUID uuid) {
+        return entries.containsKey(uuid);
+    }
+
+    public List<QueueEntry> getEntries() {
+        List<QueueEntry> queued = new ArrayList<>(entries.size());
+        synchronized (buckets) {
+            for (LinkedHashSet<QueueEntry> bucket : buckets.values()) {
+                queued.addAll(bucket);
+            }
         }
+        return queued;
+    }
 
-        return null;
+    public int getSize() {
+        return entries.size();
     }
 
-    public boolean compare(QueueEntry queueEntry1, QueueEntry queueEntry2) {
-        return queueEntry1.getKit().equals(queueEntry2.getKit());
+    /**
+     * @return an immutable copy of the waiting entries of every kit with at least two of them, each bucket in join order.
+     * The same list is returned until the bucket changes, so callers can compare them by identity.
+     */
+    Map<Kit, List<QueueEntry>> getBuckets() {
+        Map<Kit, List<QueueEntry>> copy = new HashMap<>();
+        synchronized (buckets) {
+            for (Map.Entry<Kit, LinkedHashSet<QueueEntry>> bucket : buckets.entrySet()) {
+                if (bucket.getValue().size() < 2) continue;
+
+                copy.put(bucket.getKey(), snapshots.computeIfAbsent(bucket.getKey(), kit -> List.copyOf(bucket.getValue())));
+            }
+        }
+        return copy;
     }
 }
@@ -11,7 +11,7 @@ public class QuickQueueCommand {
 
     @Command(name = "", desc = "")
     public void queue(@Sender Player player) {
-        for (QueueEntry entry : QueueService.get().queue) {
+        for (QueueEntry entry : QueueService.get().getEntries()) {
             QueueService.get().add(new QueueEntry(entry.getKit(), player.getUniqueId()), true);
             break;
         }
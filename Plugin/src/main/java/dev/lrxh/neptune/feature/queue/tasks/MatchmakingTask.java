@@ -0,0 +1,11 @@
+package dev.lrxh.neptune.feature.queue.tasks;
+
+import dev.lrxh.neptune.feature.queue.MatchmakingEngine;
+import dev.lrxh.neptune.utils.tasks.NeptuneRunnable;
+
+public class MatchmakingTask extends NeptuneRunnable {
+    @Override
+    public void run() {
+        MatchmakingEngine.get().run();
+    }
+}
@@ -27,6 +27,11 @@ public class Arena {
         this.portalProtectionRadius = 3; // Default value of 3
     }
 
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        KitService.get().updateArena(this);
+    }
+
     public void delete() {
         KitService.get().removeArenasFromKits(this);
         ArenaService.get().arenas.remove(this);
@@ -0,0 +1,74 @@
+package dev.lrxh.neptune.game.arena;
+
+import dev.lrxh.neptune.configs.impl.SettingsLocale;
+import dev.lrxh.neptune.game.arena.impl.ArenaPool;
+import dev.lrxh.neptune.game.arena.impl.StandAloneArena;
+import dev.lrxh.neptune.game.kit.Kit;
+import dev.lrxh.neptune.game.kit.KitService;
+import dev.lrxh.neptune.game.kit.impl.KitRule;
+
+import java.util.*;
+
+public class ArenaPoolService {
+    private static ArenaPoolService instance;
+    private final Map<String, ArenaPool> pools = new HashMap<>();
+
+    public static ArenaPoolService get() {
+        if (instance == null) instance = new ArenaPoolService();
+
+        return instance;
+    }
+
+    public void tick() {
+        if (!SettingsLocale.ARENA_POOL_ENABLED.getBoolean()) return;
+
+        int targetFree = SettingsLocale.ARENA_POOL_TARGET_FREE.getInt();
+        int maxCopies = SettingsLocale.ARENA_POOL_MAX_COPIES.getInt();
+        long retireAfter = SettingsLocale.ARENA_POOL_RETIRE_AFTER.getInt() * 1000L;
+
+        Set<StandAloneArena> parents = getPooledArenas();
+        pools.values().removeIf(pool -> !parents.contains(pool.getParent()));
+
+        Map<String, List<StandAloneArena>> copies = getCopies();
+        for (StandAloneArena parent : parents) {
+            pools.computeIfAbsent(parent.getName(), k -> new ArenaPool(parent))
+                    .tick(copies.getOrDefault(parent.getName(), Collections.emptyList()), targetFree, maxCopies, retireAfter);
+        }
+    }
+
+    public Collection<ArenaPool> getPools() {
+        return pools.values();
+    }
+
+    private Set<StandAloneArena> getPooledArenas() {
+        Set<StandAloneArena> parents = new LinkedHashSet<>();
+
+        for (Kit kit : KitService.get().kits) {
+            if (!kit.is(KitRule.BUILD)) continue;
+
+            for (Arena arena : kit.getArenas()) {
+                if (!(arena instanceof StandAloneArena standAloneArena)) continue;
+                if (standAloneArena.isCopy() || !standAloneArena.isEnabled() || !standAloneArena.isSetup()) continue;
+
+                parents.add(standAloneArena);
+            }
+        }
+
+        return parents;
+    }
+
+    private Map<String, List<StandAloneArena>> getCopies() {
+        Map<String, List<StandAloneArena>> copies = new HashMap<>();
+
+        for (Arena arena : ArenaService.get().getArenas()) {
+            if (!(arena instanceof StandAloneArena standAloneArena) || !standAloneArena.isCopy()) continue;
+
+            String parentName = standAloneArena.getParentName();
+            if (parentName == null) continue;
+
+            copies.computeIfAbsent(parentName, k -> new ArrayList<>()).add(standAloneArena);
+        }
+
+        return copies;
+    }
+}
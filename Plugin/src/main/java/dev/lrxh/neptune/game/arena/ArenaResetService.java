@@ -0,0 +1,128 @@
+package dev.lrxh.neptune.game.arena;
+
+import dev.lrxh.neptune.configs.impl.SettingsLocale;
+import dev.lrxh.neptune.game.arena.impl.ArenaReset;
+import dev.lrxh.neptune.utils.ServerUtils;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+
+/**
+ * Restores arenas over several ticks within a per tick block and time budget,
+ * resets are processed in the order they were queued.
+ */
+public class ArenaResetService {
+    private static final int BATCH_SIZE = 128;
+    private static ArenaResetService instance;
+    private final ArrayDeque<ArenaReset> queue = new ArrayDeque<>();
+    private long completed;
+    private long totalLatency;
+
+    public static ArenaResetService get() {
+        if (instance == null) instance = new ArenaResetService();
+
+        return instance;
+    }
+
+    public void queue(ArenaReset reset) {
+        queue.add(reset);
+    }
+
+    /**
+     * Get the reset still queued for an arena so new changes can join it
+     * instead of queueing another reset of the same arena.
+     *
+     * @param arena Arena being reset
+     * @return Queued reset or null if there is none
+     */
+    public ArenaReset getQueued(Arena arena) {
+        Iterator<ArenaReset> iterator = queue.descendingIterator();
+        while (iterator.hasNext()) {
+            ArenaReset reset = iterator.next();
+            if (reset.getArena().equals(arena) && !reset.isDone()) return reset;
+        }
+
+        return null;
+    }
+
+    /**
+     * Run an action once every queued reset of the arena finished,
+     * runs immediately if nothing is queued for it.
+     *
+     * @param arena    Arena being reset
+     * @param runnable Action to run
+     */
+    public void whenReset(Arena arena, Runnable runnable) {
+        Iterator<ArenaReset> iterator = queue.descendingIterator();
+        while (iterator.hasNext()) {
+            ArenaReset reset = iterator.next();
+            if (reset.getArena().equals(arena)) {
+                reset.getCallbacks().add(runnable);
+                return;
+            }
+        }
+
+        runnable.run();
+    }
+
+    public boolean isResetting(Arena arena) {
+        for (ArenaReset reset : queue) {
+            if (reset.getArena().equals(arena)) return true;
+        }
+        return false;
+    }
+
+    public void tick() {
+        if (queue.isEmpty()) return;
+
+        int budget = Math.max(1, SettingsLocale.ARENA_RESET_BLOCKS_PER_TICK.getInt());
+        long deadline = System.nanoTime() + Math.max(1, SettingsLocale.ARENA_RESET_MILLIS_PER_TICK.getInt()) * 1_000_000L;
+
+        while (!queue.isEmpty() && budget > 0 && System.nanoTime() < deadline) {
+            ArenaReset reset = queue.peek();
+            budget -= reset.apply(Math.min(budget, BATCH_SIZE));
+
+            if (reset.isDone()) {
+                queue.poll();
+                complete(reset);
+            }
+        }
+    }
+
+    public void flush() {
+        while (!queue.isEmpty()) {
+            ArenaReset reset = queue.poll();
+            reset.apply(Integer.MAX_VALUE);
+            complete(reset);
+        }
+    }
+
+    private void complete(ArenaReset reset) {
+        completed++;
+        totalLatency += System.currentTimeMillis() - reset.getQueuedAt();
+
+        for (Runnable callback : reset.getCallbacks()) {
+            try {
+                callback.run();
+            } catch (Exception e) {
+                ServerUtils.error("Error while finishing reset of arena " + reset.getArena().getName() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public long getPendingBlocks() {
+        long pending = 0;
+        for (ArenaReset reset : queue) {
+            pending += reset.getRemaining();
+        }
+        return pending;
+    }
+
+    public long getAverageLatency() {
+        return completed == 0 ? 0 : totalLatency / completed;
+    }
+}
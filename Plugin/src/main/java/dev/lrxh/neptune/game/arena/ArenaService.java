@@ -59,6 +59,7 @@ public class ArenaService implements IService {
                     StandAloneArena arena = new StandAloneArena(arenaName, displayName, redSpawn, blueSpawn, edge1, edge2, limit, enabled, copy, copies, whitelistedBlocks);
                     arena.setPortalProtectionRadius(portalProtectionRadius);
                     arena.setDeathY(deathY);
+                    arena.getPooledCopies().addAll(config.getStringList(path + "pooledCopies"));
                     arenas.add(arena);
                 } else {
                     SharedArena arena = new SharedArena(arenaName, displayName, redSpawn, blueSpawn, enabled);
@@ -87,6 +88,7 @@ public class ArenaService implements IService {
                         new Value("max", LocationUtil.serialize(standAloneArena.getMax())),
                         new Value("limit", standAloneArena.getLimit()),
                         new Value("copies", standAloneArena.getCopies()),
+                        new Value("pooledCopies", standAloneArena.getPooledCopies()),
                         new Value("copy", standAloneArena.isCopy()),
                         new Value("deathY", standAloneArena.getDeathY()),
                         new Value("whitelistedBlocks", standAloneArena.getWhitelistedBlocksAsString())
@@ -0,0 +1,64 @@
+package dev.lrxh.neptune.game.arena.impl;
+
+import dev.lrxh.neptune.utils.ServerUtils;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Keeps a target amount of free copies of a standalone arena,
+ * generating copies when free capacity is low and retiring idle ones.
+ */
+@Getter
+public class ArenaPool {
+    private final StandAloneArena parent;
+    private long surplusSince;
+    private int free;
+    private int total;
+
+    public ArenaPool(StandAloneArena parent) {
+        this.parent = parent;
+        this.surplusSince = -1;
+    }
+
+    public void tick(List<StandAloneArena> copies, int targetFree, int maxCopies, long retireAfter) {
+        total = copies.size() + 1;
+        free = parent.isUsed() ? 0 : 1;
+        int pasting = 0;
+        for (StandAloneArena copy : copies) {
+            if (copy.isPasting()) pasting++;
+            else if (!copy.isUsed()) free++;
+        }
+
+        if (free + pasting < targetFree) {
+            surplusSince = -1;
+
+            int amount = Math.min(targetFree - free - pasting, maxCopies - copies.size());
+            if (amount <= 0) return;
+            // Capturing now would copy the blocks of the running match
+            if (parent.isUsed() && !parent.hasSnapshot()) return;
+
+            ServerUtils.info("Arena pool " + parent.getName() + " is low on free arenas (" + free + "/" + total + "), generating " + amount + " copies");
+            parent.generateCopies(amount, true);
+            return;
+        }
+
+        if (free <= targetFree || pasting > 0 || copies.isEmpty()) {
+            surplusSince = -1;
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        if (surplusSince == -1) {
+            surplusSince = now;
+            return;
+        }
+
+        if (now - surplusSince < retireAfter) return;
+
+        if (parent.removeLastPooledCopy()) {
+            ServerUtils.info("Arena pool " + parent.getName() + " retired an idle copy (" + (free - 1) + "/" + (total - 1) + " free)");
+        }
+        surplusSince = now;
+    }
+}
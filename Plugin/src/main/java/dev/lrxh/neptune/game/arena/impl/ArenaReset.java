@@ -0,0 +1,101 @@
+package dev.lrxh.neptune.game.arena.impl;
+
+import dev.lrxh.neptune.game.arena.Arena;
+import dev.lrxh.neptune.utils.BlockChanger;
+import lombok.Getter;
+import org.bukkit.World;
+import org.bukkit.block.data.BlockData;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+@Getter
+public class ArenaReset {
+    private static final int SECTION_VOLUME = 16 * 16 * 16;
+    private final Arena arena;
+    private final World world;
+    private final long queuedAt;
+    private final List<Runnable> callbacks = new ArrayList<>();
+    private int[] positions;
+    private BlockData[] blocks;
+    private final ArrayDeque<int[]> sections = new ArrayDeque<>();
+    private BlockChanger.CompactSnapshot pristine;
+    private int offsetX;
+    private int offsetZ;
+    private int size;
+    private int index;
+
+    public ArenaReset(Arena arena, World world, int expectedSize) {
+        this.arena = arena;
+        this.world = world;
+        this.queuedAt = System.currentTimeMillis();
+        this.positions = new int[Math.max(1, expectedSize) * 3];
+        this.blocks = new BlockData[Math.max(1, expectedSize)];
+    }
+
+    public void add(int x, int y, int z, BlockData blockData) {
+        if (size == blocks.length) {
+            positions = Arrays.copyOf(positions, positions.length * 2);
+            blocks = Arrays.copyOf(blocks, blocks.length * 2);
+        }
+
+        positions[size * 3] = x;
+        positions[size * 3 + 1] = y;
+        positions[size * 3 + 2] = z;
+        blocks[size++] = blockData;
+    }
+
+    /**
+     * Restore whole chunk sections from a snapshot before the single blocks.
+     *
+     * @param pristine Snapshot to restore from
+     * @param offsetX  Offset of the arena from the snapshot on the X axis
+     * @param offsetZ  Offset of the arena from the snapshot on the Z axis
+     * @param sections World section coordinates {x, y, z} of the sections to restore
+     */
+    public void addSections(BlockChanger.CompactSnapshot pristine, int offsetX, int offsetZ, List<int[]> sections) {
+        this.pristine = pristine;
+        this.offsetX = offsetX;
+        this.offsetZ = offsetZ;
+        this.sections.addAll(sections);
+    }
+
+    /**
+     * Restore up to the given amount of blocks,
+     * a section is always restored as a whole so the amount can be exceeded.
+     *
+     * @param max Maximum amount of blocks to restore
+     * @return Amount of blocks restored
+     */
+    public int apply(int max) {
+        int restored = 0;
+        while (!sections.isEmpty() && restored < max) {
+            restored += BlockChanger.restoreSections(pristine, offsetX, offsetZ, List.of(sections.poll()));
+        }
+        if (restored >= max) return restored;
+
+        int end = (int) Math.min(size, (long) index + max - restored);
+        int applied = end - index;
+
+        for (; index < end; index++) {
+            world.getBlockAt(positions[index * 3], positions[index * 3 + 1], positions[index * 3 + 2])
+                    .setBlockData(blocks[index], false);
+            blocks[index] = null;
+        }
+
+        return restored + applied;
+    }
+
+    public boolean isDone() {
+        return sections.isEmpty() && index >= size;
+    }
+
+    /**
+     * @return Amount of blocks left to restore, counting every section as full
+     */
+    public int getRemaining() {
+        return sections.size() * SECTION_VOLUME + size - index;
+    }
+}
@@ -0,0 +1,83 @@
+package dev.lrxh.neptune.game.arena.impl;
+
+import org.bukkit.Location;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Keeps one bit for every 16x16x16 chunk section inside an arena
+ * to remember which sections were touched during a match.
+ */
+public class SectionTracker {
+    private final int minX, minY, minZ;
+    private final int sizeX, sizeY, sizeZ;
+    private final BitSet sections;
+
+    public SectionTracker(Location pos1, Location pos2) {
+        this.minX = Math.min(pos1.getBlockX(), pos2.getBlockX()) >> 4;
+        this.minY = Math.min(pos1.getBlockY(), pos2.getBlockY()) >> 4;
+        this.minZ = Math.min(pos1.getBlockZ(), pos2.getBlockZ()) >> 4;
+        this.sizeX = (Math.max(pos1.getBlockX(), pos2.getBlockX()) >> 4) - minX + 1;
+        this.sizeY = (Math.max(pos1.getBlockY(), pos2.getBlockY()) >> 4) - minY + 1;
+        this.sizeZ = (Math.max(pos1.getBlockZ(), pos2.getBlockZ()) >> 4) - minZ + 1;
+        this.sections = new BitSet(sizeX * sizeY * sizeZ);
+    }
+
+    /**
+     * Mark the section containing a block as touched.
+     *
+     * @return false if the block is outside the tracked area
+     */
+    public boolean mark(int x, int y, int z) {
+        int sectionX = (x >> 4) - minX;
+        int sectionY = (y >> 4) - minY;
+        int sectionZ = (z >> 4) - minZ;
+
+        if (sectionX < 0 || sectionY < 0 || sectionZ < 0 || sectionX >= sizeX || sectionY >= sizeY || sectionZ >= sizeZ) {
+            return false;
+        }
+
+        sections.set((sectionY * sizeZ + sectionZ) * sizeX + sectionX);
+        return true;
+    }
+
+    /**
+     * @return true if the section containing a block was touched
+     */
+    public boolean isMarked(int x, int y, int z) {
+        int sectionX = (x >> 4) - minX;
+        int sectionY = (y >> 4) - minY;
+        int sectionZ = (z >> 4) - minZ;
+
+        if (sectionX < 0 || sectionY < 0 || sectionZ < 0 || sectionX >= sizeX || sectionY >= sizeY || sectionZ >= sizeZ) {
+            return false;
+        }
+
+        return sections.get((sectionY * sizeZ + sectionZ) * sizeX + sectionX);
+    }
+
+    public boolean isEmpty() {
+        return sections.isEmpty();
+    }
+
+    /**
+     * Clear all marks.
+     *
+     * @return The world section coordinates {x, y, z} of every touched section
+     */
+    public List<int[]> drain() {
+        List<int[]> touched = new ArrayList<>(sections.cardinality());
+
+        for (int i = sections.nextSetBit(0); i >= 0; i = sections.nextSetBit(i + 1)) {
+            int sectionX = i % sizeX;
+            int sectionZ = (i / sizeX) % sizeZ;
+            int sectionY = i / (sizeX * sizeZ);
+            touched.add(new int[]{minX + sectionX, minY + sectionY, minZ + sectionZ});
+        }
+
+        sections.clear();
+        return touched;
+    }
+}
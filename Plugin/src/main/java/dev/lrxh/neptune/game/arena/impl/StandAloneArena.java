@@ -1,29 +1,56 @@
 package dev.lrxh.neptune.game.arena.impl;
 
+import dev.lrxh.neptune.Neptune;
 import dev.lrxh.neptune.game.arena.Arena;
+import dev.lrxh.neptune.game.arena.ArenaResetService;
 import dev.lrxh.neptune.game.arena.ArenaService;
+import dev.lrxh.neptune.game.kit.KitService;
 import dev.lrxh.neptune.utils.BlockChanger;
 import dev.lrxh.neptune.utils.LocationUtil;
 import dev.lrxh.neptune.utils.ServerUtils;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
+import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.Material;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @Getter
 @Setter
 public class StandAloneArena extends Arena {
     private final List<String> copies;
+    /**
+     * Copies generated by the arena pool, only these are retired by it
+     */
+    private final List<String> pooledCopies = new ArrayList<>();
     private final boolean copy;
     private Location min;
     private Location max;
     private double limit;
     private boolean used;
+    private boolean pasting;
     private int deathY;
     private List<Material> whitelistedBlocks;
+    @Setter(AccessLevel.NONE)
+    private BlockChanger.CompactSnapshot snapshot;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private CompletableFuture<BlockChanger.CompactSnapshot> pendingSnapshot;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private int snapshotVersion;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private SectionTracker sectionTracker;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private StandAloneArena source;
 
     public StandAloneArena(String name, String displayName, Location redSpawn, Location blueSpawn, Location min, Location max, double limit, boolean enabled, boolean copy, List<String> copies, List<Material> whitelistedBlocks) {
         super(name, displayName, redSpawn, blueSpawn, enabled);
@@ -62,26 +89,373 @@ public class StandAloneArena extends Arena {
             arena.delete();
         }
         copies.clear();
+        pooledCopies.clear();
     }
 
-    public void generateCopies(int amount) {
+    @Override
+    public void delete() {
+        clearSnapshot();
+        super.delete();
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+        super.setEnabled(enabled);
+
+        // Copies are only available while their parent is enabled
+        for (StandAloneArena copy : getCopyArenas()) {
+            KitService.get().updateArena(copy);
+        }
+    }
+
+    public void setUsed(boolean used) {
+        if (this.used == used) return;
+
+        this.used = used;
+        KitService.get().updateArena(this);
+    }
+
+    public void setMin(Location min) {
+        this.min = min;
+        clearSnapshot();
+    }
+
+    public void setMax(Location max) {
+        this.max = max;
+        clearSnapshot();
+    }
+
+    public BlockChanger.CompactSnapshot getSnapshot() {
+        if (snapshot != null) return snapshot;
+
         BlockChanger.loadChunks(min, max);
-        BlockChanger.Snapshot snapshot = BlockChanger.capture(min, max, true);
+        snapshot = loadOrCapture(getSnapshotFile(), min, max);
+        return snapshot;
+    }
+
+    /**
+     * Get the snapshot without blocking the main thread, it is loaded or captured off the main thread
+     * and the future completes on the main thread. The future is cancelled if the snapshot is cleared meanwhile.
+     */
+    public CompletableFuture<BlockChanger.CompactSnapshot> getSnapshotAsync() {
+        if (snapshot != null) return CompletableFuture.completedFuture(snapshot);
+        if (pendingSnapshot != null) return pendingSnapshot;
+
+        // Chunks can only be loaded on the main thread
+        BlockChanger.loadChunks(min, max);
+
+        int version = snapshotVersion;
+        File file = getSnapshotFile();
+        Location min = this.min;
+        Location max = this.max;
+        CompletableFuture<BlockChanger.CompactSnapshot> future = new CompletableFuture<>();
+        pendingSnapshot = future;
+
+        CompletableFuture.supplyAsync(() -> loadOrCapture(file, min, max))
+                .whenComplete((captured, throwable) -> Bukkit.getScheduler().runTask(Neptune.get(), () -> {
+                    if (version != snapshotVersion) {
+                        // The saved file is of the old bounds or build, unless a newer snapshot replaced it already
+                        if (snapshot == null && pendingSnapshot == null && file.exists() && !file.delete()) {
+                            ServerUtils.error("Failed to delete snapshot of arena " + getName());
+                        }
+                        future.cancel(false);
+                        return;
+                    }
+
+                    pendingSnapshot = null;
+                    if (throwable != null) {
+                        ServerUtils.error("Failed to capture snapshot of arena " + getName() + ": " + throwable.getMessage());
+                        future.completeExceptionally(throwable);
+                        return;
+                    }
+
+                    if (snapshot == null) snapshot = captured;
+                    future.complete(snapshot);
+                }));
+
+        return future;
+    }
+
+    private BlockChanger.CompactSnapshot loadOrCapture(File file, Location min, Location max) {
+        if (file.exists()) {
+            try {
+                BlockChanger.CompactSnapshot loaded = BlockChanger.CompactSnapshot.load(file);
+                if (loaded.matches(min, max)) return loaded;
+
+                ServerUtils.info("Snapshot of arena " + getName() + " doesn't match its bounds, capturing it again");
+            } catch (IOException e) {
+                ServerUtils.error("Failed to load snapshot of arena " + getName() + ": " + e.getMessage());
+            }
+        }
+
+        BlockChanger.CompactSnapshot captured = BlockChanger.captureCompact(min, max);
+
+        try {
+            captured.save(file);
+        } catch (IOException e) {
+            ServerUtils.error("Failed to save snapshot of arena " + getName() + ": " + e.getMessage());
+        }
+
+        return captured;
+    }
+
+    /**
+     * Get the arena this arena was copied from,
+     * or this arena if it's not a copy.
+     */
+    public StandAloneArena getSource() {
+        if (source != null) return source;
+
+        String parentName = getParentName();
+        if (parentName == null) return this;
+
+        Arena parent = ArenaService.get().getArenaByName(parentName);
+        if (!(parent instanceof StandAloneArena standAloneArena)) return this;
+
+        source = standAloneArena;
+        return source;
+    }
+
+    /**
+     * Make sure the pristine snapshot is loaded so touched sections can be tracked,
+     * should be called before the arena gets modified.
+     */
+    public void prepareSectionTracking() {
+        StandAloneArena source = getSource();
+        // Capturing now would copy the blocks of the match running on the parent, blocks are tracked one by one instead
+        if (source != this && source.isUsed() && !source.hasSnapshot()) return;
+
+        source.getSnapshot();
+        if (sectionTracker == null) sectionTracker = new SectionTracker(min, max);
+    }
+
+    /**
+     * Mark the chunk section of a block as touched.
+     *
+     * @return false if the block can't be restored from the snapshot
+     */
+    public boolean markDirty(Location location) {
+        if (sectionTracker == null) return false;
+        return sectionTracker.mark(location.getBlockX(), location.getBlockY(), location.getBlockZ());
+    }
+
+    public boolean hasDirtySections() {
+        return sectionTracker != null && !sectionTracker.isEmpty();
+    }
+
+    /**
+     * @return true if the chunk section of a block was touched and gets restored from the snapshot
+     */
+    public boolean isDirty(int x, int y, int z) {
+        return sectionTracker != null && sectionTracker.isMarked(x, y, z);
+    }
+
+    /**
+     * Restore every touched chunk section by diffing it against the pristine snapshot.
+     */
+    public void restoreDirtySections() {
+        if (!hasDirtySections()) return;
+
+        StandAloneArena source = getSource();
+        BlockChanger.restoreSections(source.getSnapshot(), getOffsetX(source), getOffsetZ(source), sectionTracker.drain());
+    }
+
+    /**
+     * Hand every touched chunk section to a reset so it is restored within the reset budget.
+     */
+    public void queueDirtySections(ArenaReset reset) {
+        if (!hasDirtySections()) return;
+
+        StandAloneArena source = getSource();
+        reset.addSections(source.getSnapshot(), getOffsetX(source), getOffsetZ(source), sectionTracker.drain());
+    }
+
+    private int getOffsetX(StandAloneArena source) {
+        return min.getBlockX() - source.getMin().getBlockX();
+    }
+
+    private int getOffsetZ(StandAloneArena source) {
+        return min.getBlockZ() - source.getMin().getBlockZ();
+    }
+
+    public boolean hasSnapshot() {
+        return snapshot != null || getSnapshotFile().exists();
+    }
+
+    /**
+     * Capture the arena again, for example after its build was edited.
+     * Copies are pasted again from the new snapshot since they restore their sections from it.
+     *
+     * @return false if the arena or one of its copies is in use or still being reset
+     */
+    public boolean refreshSnapshot() {
+        if (used || ArenaResetService.get().isResetting(this)) return false;
+
+        List<StandAloneArena> copyArenas = getCopyArenas();
+        for (StandAloneArena copy : copyArenas) {
+            if (copy.isUsed() || ArenaResetService.get().isResetting(copy)) return false;
+        }
+
+        clearSnapshot();
+        if (copyArenas.isEmpty()) return true;
+
+        BlockChanger.CompactSnapshot snapshot = getSnapshot();
+        for (StandAloneArena copy : copyArenas) {
+            copy.clearSnapshot();
+            // Air is pasted too, the old build has to be gone where the new one has nothing
+            copy.paste(snapshot, copy.getMin().getBlockX() - min.getBlockX(), false);
+        }
+
+        return true;
+    }
+
+    /**
+     * Paste a snapshot into this arena, keeping it out of rotation until the paste is done.
+     *
+     * @return future completed on the main thread once the arena is back in rotation
+     */
+    private CompletableFuture<Void> paste(BlockChanger.CompactSnapshot snapshot, int offset, boolean ignoreAir) {
+        setUsed(true);
+        setPasting(true);
+
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        BlockChanger.pasteAsync(snapshot, offset, 0, ignoreAir)
+                .whenComplete((ignored, throwable) -> Bukkit.getScheduler().runTask(Neptune.get(), () -> {
+                    if (throwable != null) {
+                        ServerUtils.error("Failed to paste arena " + getName() + ": " + throwable.getMessage());
+                    }
+                    setPasting(false);
+                    setUsed(false);
+                    done.complete(null);
+                }));
+
+        return done;
+    }
+
+    public void clearSnapshot() {
+        snapshot = null;
+        pendingSnapshot = null;
+        snapshotVersion++;
+        sectionTracker = null;
+        File file = getSnapshotFile();
+        if (file.exists() && !file.delete()) {
+            ServerUtils.error("Failed to delete snapshot of arena " + getName());
+        }
+    }
+
+    private File getSnapshotFile() {
+        return new File(Neptune.get().getDataFolder(), "snapshots/" + getName() + ".snapshot");
+    }
+
+    public void generateCopies(int amount) {
+        generateCopies(amount, false);
+    }
+
+    /**
+     * Generate copies of this arena. The copies are registered right away but stay out of rotation until
+     * they are pasted, which happens once the snapshot is ready so capturing it never blocks the main thread.
+     * The arenas are saved once every paste is done.
+     *
+     * @param pooled whether the arena pool manages the copies and may retire them again
+     */
+    public void generateCopies(int amount, boolean pooled) {
+        List<StandAloneArena> created = new ArrayList<>(amount);
         for (int i = 0; i < amount; i++) {
-            int offset = copies.size() * 500;
+            int index = getFreeCopyIndex();
+            // Copy #0 starts one slot away so it never overlaps this arena
+            int offset = (index + 1) * 500;
             Location min = LocationUtil.addOffsetX(getMin(), offset);
             Location max = LocationUtil.addOffsetX(getMax(), offset);
             Location redSpawn = LocationUtil.addOffsetX(getRedSpawn(), offset);
             Location blueSpawn = LocationUtil.addOffsetX(getBlueSpawn(), offset);
-            BlockChanger.loadChunks(min, max);
-            BlockChanger.pasteAsync(snapshot, offset, 0, true);
-            StandAloneArena copy = new StandAloneArena(getName() + "#" + copies.size(), getDisplayName(), redSpawn, blueSpawn, min, max, getLimit(), isEnabled(), true, null, whitelistedBlocks);
+            StandAloneArena copy = new StandAloneArena(getName() + "#" + index, getDisplayName(), redSpawn, blueSpawn, min, max, getLimit(), isEnabled(), true, null, whitelistedBlocks);
+
+            copy.setUsed(true);
+            copy.setPasting(true);
             copies.add(copy.getName());
+            if (pooled) pooledCopies.add(copy.getName());
             ArenaService.get().getArenas().add(copy);
-            ServerUtils.info("#" + i + " Created copy " + redSpawn);
+            created.add(copy);
+        }
+
+        getSnapshotAsync().whenComplete((snapshot, throwable) -> {
+            if (throwable != null) {
+                // The snapshot was cleared or failed, the copies have nothing to be pasted from
+                for (StandAloneArena copy : created) {
+                    copies.remove(copy.getName());
+                    pooledCopies.remove(copy.getName());
+                    copy.delete();
+                }
+                return;
+            }
+
+            List<CompletableFuture<Void>> pastes = new ArrayList<>(created.size());
+            for (StandAloneArena copy : created) {
+                int offset = copy.getMin().getBlockX() - min.getBlockX();
+                BlockChanger.loadChunks(copy.getMin(), copy.getMax());
+                pastes.add(copy.paste(snapshot, offset, true));
+                ServerUtils.info("Created copy " + copy.getName() + " at " + copy.getRedSpawn());
+            }
+
+            CompletableFuture.allOf(pastes.toArray(new CompletableFuture[0]))
+                    .thenRun(() -> ArenaService.get().saveArenas());
+        });
+    }
+
+    /**
+     * @return the lowest copy number that isn't taken, retired copies leave gaps that are reused
+     */
+    private int getFreeCopyIndex() {
+        int index = 0;
+        while (copies.contains(getName() + "#" + index)) index++;
+        return index;
+    }
+
+    /**
+     * Remove the most recently generated pool copy if it isn't in use,
+     * copies generated by an admin are never removed here.
+     *
+     * @return true if a copy was removed
+     */
+    public boolean removeLastPooledCopy() {
+        if (pooledCopies.isEmpty()) return false;
 
+        String name = pooledCopies.get(pooledCopies.size() - 1);
+        StandAloneArena arena = (StandAloneArena) ArenaService.get().getArenaByName(name);
+        if (arena != null && arena.isUsed()) return false;
+
+        pooledCopies.remove(name);
+        copies.remove(name);
+        if (arena != null) {
+            BlockChanger.setBlocksAsync(getWorld(), arena.getMin(), arena.getMax(), Material.AIR);
+            arena.delete();
+        } else {
             ArenaService.get().saveArenas();
         }
+
+        return true;
+    }
+
+    /**
+     * Get the copies of this arena that are currently loaded.
+     */
+    public List<StandAloneArena> getCopyArenas() {
+        List<StandAloneArena> arenas = new ArrayList<>();
+        if (copies == null) return arenas;
+
+        for (String name : copies) {
+            if (ArenaService.get().getArenaByName(name) instanceof StandAloneArena standAloneArena) {
+                arenas.add(standAloneArena);
+            }
+        }
+
+        return arenas;
+    }
+
+    public String getParentName() {
+        if (!copy || !getName().contains("#")) return null;
+
+        return getName().substring(0, getName().lastIndexOf('#'));
     }
 
     public List<String> getWhitelistedBlocksAsString() {
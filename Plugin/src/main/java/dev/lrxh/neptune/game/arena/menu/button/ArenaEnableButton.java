@@ -2,7 +2,9 @@ package dev.lrxh.neptune.game.arena.menu.button;
 
 import dev.lrxh.neptune.game.arena.Arena;
 import dev.lrxh.neptune.game.arena.ArenaService;
+import dev.lrxh.neptune.game.arena.impl.StandAloneArena;
 import dev.lrxh.neptune.game.arena.menu.ArenaManagementMenu;
+import dev.lrxh.neptune.utils.CC;
 import dev.lrxh.neptune.utils.ItemBuilder;
 import dev.lrxh.neptune.utils.menu.Button;
 import org.bukkit.Material;
@@ -21,6 +23,11 @@ public class ArenaEnableButton extends Button {
     @Override
     public void onClick(ClickType type, Player player) {
         arena.setEnabled(!arena.isEnabled());
+        // Arenas are usually disabled while their build is edited
+        if (arena.isEnabled() && arena instanceof StandAloneArena standAloneArena && !standAloneArena.isCopy()
+                && !standAloneArena.refreshSnapshot()) {
+            player.sendMessage(CC.error("Arena is still in use, run /neptune snapshot " + arena.getName() + " once it's free"));
+        }
         ArenaService.get().saveArenas();
         new ArenaManagementMenu(arena).open(player);
     }
@@ -0,0 +1,11 @@
+package dev.lrxh.neptune.game.arena.tasks;
+
+import dev.lrxh.neptune.game.arena.ArenaPoolService;
+import dev.lrxh.neptune.utils.tasks.NeptuneRunnable;
+
+public class ArenaPoolTask extends NeptuneRunnable {
+    @Override
+    public void run() {
+        ArenaPoolService.get().tick();
+    }
+}
@@ -0,0 +1,11 @@
+package dev.lrxh.neptune.game.arena.tasks;
+
+import dev.lrxh.neptune.game.arena.ArenaResetService;
+import dev.lrxh.neptune.utils.tasks.NeptuneRunnable;
+
+public class ArenaResetTask extends NeptuneRunnable {
+    @Override
+    public void run() {
+        ArenaResetService.get().tick();
+    }
+}
@@ -57,6 +57,18 @@ public class DivisionService implements IService {
         return divisions.iterator().next();
     }
 
+    /**
+     * @return position of the division from the lowest one, starting at 0
+     */
+    public int getRank(Division division) {
+        int index = 0;
+        for (Division other : divisions) {
+            if (other == division) return divisions.size() - 1 - index;
+            index++;
+        }
+        return 0;
+    }
+
     @Override
     public ConfigFile getConfigFile() {
         return ConfigService.get().getDivisionsConfig();
@@ -10,6 +10,7 @@ import dev.lrxh.neptune.profile.ProfileService;
 import dev.lrxh.neptune.profile.data.GameData;
 import dev.lrxh.neptune.profile.data.KitData;
 import dev.lrxh.neptune.profile.impl.Profile;
+import dev.lrxh.neptune.utils.IndexedSet;
 import dev.lrxh.neptune.utils.ItemUtils;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -21,7 +22,6 @@ import org.bukkit.inventory.ItemStack;
 
 import javax.annotation.Nullable;
 import java.util.*;
-import java.util.concurrent.ThreadLocalRandom;
 
 @Getter
 @Setter
@@ -37,6 +37,7 @@ public class Kit {
     private double health;
     private int customRounds = 3; // Default to 3 rounds for Best of X
     private int portalProtectionRadius = 3; // Default to 3 block radius for portal protection
+    private final IndexedSet<Arena> freeArenas = new IndexedSet<>();
 
     public Kit(String name, String displayName, List<ItemStack> items, HashSet<Arena> arenas, ItemStack icon, HashMap<KitRule, Boolean> rules, int slot, double health, int kitEditorSlot) {
         this.name = name;
@@ -53,6 +54,7 @@ public class Kit {
         this.portalProtectionRadius = 3; // Default value
 
         addToProfiles();
+        rebuildFreeArenas();
         // Create default block whitelist for this kit
         BlockWhitelistConfig.get().createDefaultWhitelistForKit(name);
     }
@@ -72,6 +74,7 @@ public class Kit {
         this.portalProtectionRadius = 3; // Default value
 
         addToProfiles();
+        rebuildFreeArenas();
         // Create default block whitelist for this kit
         BlockWhitelistConfig.get().createDefaultWhitelistForKit(name);
     }
@@ -91,6 +94,7 @@ public class Kit {
         this.portalProtectionRadius = 3; // Default value
 
         addToProfiles();
+        rebuildFreeArenas();
         // Create default block whitelist for this kit
         BlockWhitelistConfig.get().createDefaultWhitelistForKit(name);
     }
@@ -107,9 +111,56 @@ public class Kit {
     public void toggleArena(Arena arena) {
         if (arenas.contains(arena)) {
             arenas.remove(arena);
-            return;
+        } else {
+            arenas.add(arena);
+        }
+
+        updateArena(arena);
+        if (arena instanceof StandAloneArena standAloneArena) {
+            for (StandAloneArena copy : standAloneArena.getCopyArenas()) {
+                updateArena(copy);
+            }
+        }
+    }
+
+    /**
+     * Add or remove an arena from the free arenas after its state changed.
+     *
+     * @param arena Arena that changed
+     */
+    public void updateArena(Arena arena) {
+        if (isAvailable(arena)) {
+            freeArenas.add(arena);
+        } else {
+            freeArenas.remove(arena);
+        }
+    }
+
+    public void rebuildFreeArenas() {
+        freeArenas.clear();
+
+        for (Arena arena : arenas) {
+            if (arena == null) continue;
+            updateArena(arena);
+
+            if (arena instanceof StandAloneArena standAloneArena) {
+                for (StandAloneArena copy : standAloneArena.getCopyArenas()) {
+                    updateArena(copy);
+                }
+            }
         }
-        arenas.add(arena);
+    }
+
+    private boolean isAvailable(Arena arena) {
+        if (arena == null || !arena.isEnabled()) return false;
+        if (!is(KitRule.BUILD)) return arenas.contains(arena);
+        if (!(arena instanceof StandAloneArena standAloneArena) || standAloneArena.isUsed()) return false;
+
+        // Copies leave the rotation together with a disabled parent
+        StandAloneArena source = standAloneArena.getSource();
+        if (!source.isEnabled()) return false;
+
+        return arenas.contains(standAloneArena) || arenas.contains(source);
     }
 
     public boolean isArenaAdded(Arena arena) {
@@ -139,6 +190,7 @@ public class Kit {
 
     public void toggle(KitRule kitRule) {
         rules.put(kitRule, !rules.get(kitRule));
+        if (kitRule == KitRule.BUILD) rebuildFreeArenas();
     }
 
     public void removeQueue() {
@@ -159,21 +211,7 @@ public class Kit {
 
     @Nullable
     public Arena getRandomArena() {
-        List<Arena> kitArenas = new ArrayList<>();
-        for (Arena arena : arenas) {
-            if (arena == null) continue;
-            if (!arena.isEnabled()) continue;
-            if (is(KitRule.BUILD)) {
-                if ((arena instanceof StandAloneArena standAloneArena)) {
-                    if (standAloneArena.isUsed()) continue;
-                    kitArenas.add(standAloneArena);
-                }
-            } else {
-                kitArenas.add(arena);
-            }
-        }
-        Collections.shuffle(kitArenas);
-        return kitArenas.isEmpty() ? null : kitArenas.get(ThreadLocalRandom.current().nextInt(kitArenas.size()));
+        return freeArenas.random();
     }
 
     public void giveLoadout(UUID playerUUID) {
@@ -140,7 +140,17 @@ public class KitService implements IService {
 
     public void removeArenasFromKits(Arena arena) {
         for (Kit kit : kits) {
-            kit.getArenas().remove(arena);
+            if (kit.getArenas().remove(arena)) {
+                kit.rebuildFreeArenas();
+            } else {
+                kit.getFreeArenas().remove(arena);
+            }
+        }
+    }
+
+    public void updateArena(Arena arena) {
+        for (Kit kit : kits) {
+            kit.updateArena(arena);
         }
     }
 
@@ -9,11 +9,11 @@ import dev.lrxh.neptune.game.leaderboard.impl.LeaderboardPlayerEntry;
 import dev.lrxh.neptune.game.leaderboard.impl.LeaderboardType;
 import dev.lrxh.neptune.game.leaderboard.impl.PlayerEntry;
 import dev.lrxh.neptune.profile.data.KitData;
+import dev.lrxh.neptune.profile.impl.Profile;
 import dev.lrxh.neptune.providers.database.DatabaseService;
 import dev.lrxh.neptune.providers.database.impl.DataDocument;
+import dev.lrxh.neptune.providers.database.impl.IDatabase;
 import lombok.Getter;
-import org.bukkit.Bukkit;
-import org.bukkit.entity.Player;
 
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
@@ -25,13 +25,11 @@ import java.util.regex.Pattern;
 @Getter
 public class LeaderboardService {
     private static LeaderboardService instance;
-    private final List<LeaderboardPlayerEntry> changes;
     private final LinkedHashMap<Kit, List<LeaderboardEntry>> leaderboards;
     private final Pattern PATTERN = Pattern.compile("(WINS|BEST_WIN_STREAK|DEATHS)_(.*)_(10|[1-9])_(name|value)");
 
     public LeaderboardService() {
         leaderboards = new LinkedHashMap<>();
-        changes = new ArrayList<>();
     }
 
     public static LeaderboardService get() {
@@ -76,7 +74,7 @@ public class LeaderboardService {
 
 
             for (LeaderboardType leaderboardType : LeaderboardType.values()) {
-                leaderboardEntries.add(new LeaderboardEntry(leaderboardType, new ArrayList<>()));
+                leaderboardEntries.add(new LeaderboardEntry(leaderboardType));
             }
 
             leaderboards.put(kit, leaderboardEntries);
@@ -102,47 +100,49 @@ public class LeaderboardService {
             }
         }
 
-        List<PlayerEntry> newLeaderboard = new ArrayList<>();
-        LeaderboardEntry newEntry = new LeaderboardEntry(leaderboardType, newLeaderboard);
+        LeaderboardEntry newEntry = new LeaderboardEntry(leaderboardType);
         leaderboardEntries.add(newEntry);
         leaderboards.put(kit, leaderboardEntries);
 
-        return newLeaderboard;
+        return newEntry.getPlayerEntries();
     }
 
     public void load() {
         checkIfMissing();
-        for (LeaderboardType leaderboardType : LeaderboardType.values()) {
-            loadType(leaderboardType);
+        IDatabase database = DatabaseService.get().getDatabase();
+
+        if (!database.hasRankedQueries()) {
+            loadAll(database);
+            return;
         }
-    }
 
-    public void update() {
-        if (changes.isEmpty()) return;
-        checkIfMissing();
-        for (LeaderboardPlayerEntry leaderboardPlayerEntry : new ArrayList<>(changes)) {
+        for (Kit kit : KitService.get().kits) {
             for (LeaderboardType leaderboardType : LeaderboardType.values()) {
-                loadLB(leaderboardType, leaderboardPlayerEntry);
+                for (PlayerEntry playerEntry : database.getTop(kit.getName(), leaderboardType, LeaderboardEntry.SIZE)) {
+                    addPlayerEntry(kit, playerEntry, leaderboardType);
+                }
             }
-            changes.remove(leaderboardPlayerEntry);
         }
     }
 
-    private void loadType(LeaderboardType leaderboardType) {
-
-        for (Kit kit : KitService.get().kits) {
-
-            for (DataDocument document : DatabaseService.get().getDatabase().getAll()) {
-
-                String username = document.getString("username");
-                UUID uuid = UUID.fromString(document.getString("uuid"));
-                KitData kitData = getKitData(uuid, kit);
-                if (kitData == null) continue;
-
-                PlayerEntry playerEntry = new PlayerEntry(username, uuid, leaderboardType.get(kitData));
-                addPlayerEntry(kit, playerEntry, leaderboardType);
+    /**
+     * Build every leaderboard from a single pass over all documents,
+     * used when the database can't sort by kit statistics itself.
+     */
+    private void loadAll(IDatabase database) {
+        database.forEach(document -> {
+            String username = document.getString("username");
+            UUID uuid = UUID.fromString(document.getString("uuid"));
+            DataDocument kitStatistics = document.getDataDocument("kitData");
+
+            for (Kit kit : KitService.get().kits) {
+                if (!(kitStatistics.data.get(kit.getName()) instanceof DataDocument kitDocument)) continue;
+
+                for (LeaderboardType leaderboardType : LeaderboardType.values()) {
+                    addPlayerEntry(kit, new PlayerEntry(username, uuid, kitDocument.getInteger(leaderboardType.getField(), 0)), leaderboardType);
+                }
             }
-        }
+        }, "username", "kitData");
     }
 
     private void addPlayerEntry(Kit kit, PlayerEntry playerEntry, LeaderboardType leaderboardType) {
@@ -153,37 +153,33 @@ public class LeaderboardService {
         }
     }
 
+    /**
+     * Update the leaderboards of a kit for an online player.
+     *
+     * @deprecated use {@link #update(UUID, String, Kit, KitData)} with the statistics of the loaded profile,
+     * players without a loaded profile are ignored instead of being read from the database
+     */
+    @Deprecated
     public void addChange(LeaderboardPlayerEntry playerEntry) {
-        changes.add(playerEntry);
-    }
+        Profile profile = API.getProfile(playerEntry.getPlayerUUID());
+        if (profile == null) return;
 
-    private void loadLB(LeaderboardType leaderboardType, LeaderboardPlayerEntry leaderboardPlayerEntry) {
-        Kit kit = leaderboardPlayerEntry.getKit();
-        PlayerEntry playerEntry = new PlayerEntry(leaderboardPlayerEntry.getUsername(), leaderboardPlayerEntry.getPlayerUUID(),
-                leaderboardType.get(getKitData(leaderboardPlayerEntry.getPlayerUUID(), kit)));
-        addPlayerEntry(kit, playerEntry, leaderboardType);
+        update(playerEntry.getPlayerUUID(), playerEntry.getUsername(), playerEntry.getKit(), profile.getGameData().get(playerEntry.getKit()));
     }
 
+    /**
+     * Move a player to their current position on every leaderboard of a kit.
+     *
+     * @param playerUUID UUID of the player
+     * @param username   Name of the player
+     * @param kit        Kit the statistics belong to
+     * @param kitData    Current statistics of the player
+     */
+    public void update(UUID playerUUID, String username, Kit kit, KitData kitData) {
+        if (!leaderboards.containsKey(kit)) checkIfMissing();
 
-    private KitData getKitData(UUID playerUUID, Kit kit) {
-        Player player = Bukkit.getPlayer(playerUUID);
-        if (player != null) {
-            return API.getProfile(player).getGameData().get(kit);
+        for (LeaderboardType leaderboardType : LeaderboardType.values()) {
+            addPlayerEntry(kit, new PlayerEntry(username, playerUUID, leaderboardType.get(kitData)), leaderboardType);
         }
-
-        DataDocument dataDocument = DatabaseService.get().getDatabase().getUserData(playerUUID);
-        if (dataDocument == null) return null;
-
-        DataDocument kitStatistics = dataDocument.getDataDocument("kitData");
-        DataDocument kitDocument = kitStatistics.getDataDocument(kit.getName());
-        if (kitDocument == null) return null;
-
-        KitData profileKitData = new KitData();
-        profileKitData.setCurrentStreak(kitDocument.getInteger("WIN_STREAK_CURRENT", 0));
-        profileKitData.setWins(kitDocument.getInteger("WINS", 0));
-        profileKitData.setLosses(kitDocument.getInteger("LOSSES", 0));
-        profileKitData.setBestStreak(kitDocument.getInteger("WIN_STREAK_BEST", 0));
-
-        return profileKitData;
     }
 }
@@ -1,38 +1,55 @@
 package dev.lrxh.neptune.game.leaderboard.impl;
 
-import lombok.AllArgsConstructor;
 import lombok.Getter;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
-@AllArgsConstructor
+/**
+ * Top entries of one leaderboard kept sorted in a tree with an index by player,
+ * an update only moves the changed entry. Every tracked statistic only grows,
+ * so entries that fall out of the top can never be needed again.
+ */
 @Getter
 public class LeaderboardEntry {
+    public static final int SIZE = 10;
+    private static final Comparator<PlayerEntry> ORDER = Comparator.comparingInt(PlayerEntry::getValue).reversed()
+            .thenComparing(PlayerEntry::getUuid);
     private final LeaderboardType type;
-    private List<PlayerEntry> playerEntries;
+    private final TreeSet<PlayerEntry> ranking = new TreeSet<>(ORDER);
+    private final Map<UUID, PlayerEntry> index = new HashMap<>();
+    private List<PlayerEntry> playerEntries = Collections.emptyList();
+
+    public LeaderboardEntry(LeaderboardType type) {
+        this.type = type;
+    }
 
     public void addEntry(PlayerEntry playerEntry) {
-        PlayerEntry oldEntry = getPlayer(playerEntry.getUuid());
+        PlayerEntry oldEntry = index.get(playerEntry.getUuid());
         if (oldEntry != null) {
-            playerEntries.remove(oldEntry);
+            if (oldEntry.equals(playerEntry)) return;
+            ranking.remove(oldEntry);
+        } else if (ranking.size() >= SIZE && ORDER.compare(playerEntry, ranking.last()) > 0) {
+            return;
+        }
+
+        ranking.add(playerEntry);
+        index.put(playerEntry.getUuid(), playerEntry);
+
+        if (ranking.size() > SIZE) {
+            index.remove(ranking.pollLast().getUuid());
         }
-        playerEntries.add(playerEntry);
 
-        playerEntries = playerEntries.stream()
-                .sorted(Comparator.comparingInt(PlayerEntry::getValue).reversed())
-                .limit(10)
-                .collect(Collectors.toList());
+        playerEntries = Collections.unmodifiableList(new ArrayList<>(ranking));
     }
 
     public PlayerEntry getPlayer(UUID playerUUID) {
-        for (PlayerEntry playerEntry : playerEntries) {
-            if (playerEntry.getUuid().equals(playerUUID)) {
-                return playerEntry;
-            }
-        }
-        return null;
+        return index.get(playerUUID);
     }
 }
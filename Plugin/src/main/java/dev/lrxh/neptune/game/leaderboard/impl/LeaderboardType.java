@@ -7,19 +7,19 @@ import javax.annotation.Nullable;
 
 @Getter
 public enum LeaderboardType {
-    WINS("Wins") {
+    WINS("Wins", "WINS", "wins") {
         @Override
         public int get(KitData kitData) {
             return kitData.getWins();
         }
     },
-    BEST_WIN_STREAK("Best Win Streak") {
+    BEST_WIN_STREAK("Best Win Streak", "WIN_STREAK_BEST", "best_streak") {
         @Override
         public int get(KitData kitData) {
             return kitData.getBestStreak();
         }
     },
-    DEATHS("Deaths") {
+    DEATHS("Deaths", "LOSSES", "losses") {
         @Override
         public int get(KitData kitData) {
             return kitData.getLosses();
@@ -27,9 +27,19 @@ public enum LeaderboardType {
     };
 
     private final String name;
-
-    LeaderboardType(String name) {
+    /**
+     * Key of the value in the kit document.
+     */
+    private final String field;
+    /**
+     * Column of the value in the normalized kit_stats table.
+     */
+    private final String column;
+
+    LeaderboardType(String name, String field, String column) {
         this.name = name;
+        this.field = field;
+        this.column = column;
     }
 
     @Nullable
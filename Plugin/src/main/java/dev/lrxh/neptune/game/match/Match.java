@@ -6,6 +6,9 @@ import dev.lrxh.neptune.configs.impl.MessagesLocale;
 import dev.lrxh.neptune.configs.impl.ScoreboardLocale;
 import dev.lrxh.neptune.configs.impl.SettingsLocale;
 import dev.lrxh.neptune.game.arena.Arena;
+import dev.lrxh.neptune.game.arena.ArenaResetService;
+import dev.lrxh.neptune.game.arena.impl.ArenaReset;
+import dev.lrxh.neptune.game.arena.impl.StandAloneArena;
 import dev.lrxh.neptune.game.kit.Kit;
 import dev.lrxh.neptune.game.kit.impl.KitRule;
 import dev.lrxh.neptune.game.match.impl.FfaFightMatch;
@@ -62,12 +65,15 @@ public abstract class Match {
 
     /**
      * Add a block change to the tracking system.
-     * This method uses the new chunked storage system for better performance.
+     * This method uses the new chunked storage system for better performance,
+     * a block that is already tracked keeps its first original state.
      *
      * @param location  The location of the block
      * @param blockData The original block data to restore later
      */
     public void addBlockChange(Location location, BlockData blockData) {
+        if (isSectionDiff() && ((StandAloneArena) arena).markDirty(location)) return;
+
         ChunkKey chunkKey = ChunkKey.fromLocation(location);
         BlockPosition blockPos = BlockPosition.fromLocation(location);
 
@@ -75,6 +81,21 @@ public abstract class Match {
                 .putIfAbsent(blockPos, blockData);
     }
 
+    /**
+     * Add a liquid placed during the match, it is removed on reset.
+     *
+     * @param location The location of the liquid
+     */
+    public void addLiquid(Location location) {
+        if (isSectionDiff() && ((StandAloneArena) arena).markDirty(location)) return;
+
+        liquids.add(location);
+    }
+
+    private boolean isSectionDiff() {
+        return arena instanceof StandAloneArena && SettingsLocale.ARENA_RESET_SECTION_DIFF.getBoolean();
+    }
+
     /**
      * Check if a location has been changed
      *
@@ -223,7 +244,23 @@ public abstract class Match {
     }
 
     public void resetArena() {
-        if (SettingsLocale.ARENA_RESET_EXPERIMENTAL.getBoolean()) {
+        // Only an ending match can wait for the queue, between rounds play resumes before a queued reset would run
+        boolean queue = SettingsLocale.ARENA_RESET_QUEUE.getBoolean() && state == MatchState.ENDING;
+
+        if (arena instanceof StandAloneArena standAloneArena && standAloneArena.hasDirtySections()) {
+            // Blocks inside touched sections come back with the section restore
+            liquids.removeIf(location -> standAloneArena.isDirty(location.getBlockX(), location.getBlockY(), location.getBlockZ()));
+            for (Map<BlockPosition, BlockData> chunkChanges : chunkedChanges.values()) {
+                chunkChanges.keySet().removeIf(pos -> standAloneArena.isDirty(pos.getX(), pos.getY(), pos.getZ()));
+            }
+            chunkedChanges.values().removeIf(Map::isEmpty);
+
+            if (!queue) standAloneArena.restoreDirtySections();
+        }
+
+        if (queue) {
+            queueArenaReset();
+        } else if (SettingsLocale.ARENA_RESET_EXPERIMENTAL.getBoolean()) {
             List<BlockChanger.BlockSnapshot> blocks = new ArrayList<>();
 
             // Add liquids to reset
@@ -259,9 +296,51 @@ public abstract class Match {
             }
         }
 
+        // Everything tracked is restored now, later resets only need what changes after this
+        liquids.clear();
+        chunkedChanges.clear();
+
         removeEntities();
     }
 
+    private void queueArenaReset() {
+        StandAloneArena sectionArena = arena instanceof StandAloneArena standAloneArena && standAloneArena.hasDirtySections() ? standAloneArena : null;
+        if (sectionArena == null && liquids.isEmpty() && chunkedChanges.isEmpty()) return;
+
+        ArenaReset reset = ArenaResetService.get().getQueued(arena);
+        if (reset == null) {
+            int size = liquids.size();
+            for (Map<BlockPosition, BlockData> chunkChanges : chunkedChanges.values()) {
+                size += chunkChanges.size();
+            }
+
+            reset = new ArenaReset(arena, arena.getWorld(), size);
+            ArenaResetService.get().queue(reset);
+        }
+
+        if (sectionArena != null) sectionArena.queueDirtySections(reset);
+        addArenaReset(reset);
+    }
+
+    private void addArenaReset(ArenaReset reset) {
+        BlockData air = Material.AIR.createBlockData();
+
+        for (Location location : liquids) {
+            reset.add(location.getBlockX(), location.getBlockY(), location.getBlockZ(), air);
+        }
+
+        // Restore chunk by chunk so every chunk is only touched once
+        List<ChunkKey> chunkKeys = new ArrayList<>(chunkedChanges.keySet());
+        chunkKeys.sort(Comparator.comparingInt(ChunkKey::getX).thenComparingInt(ChunkKey::getZ));
+
+        for (ChunkKey chunkKey : chunkKeys) {
+            for (Map.Entry<BlockPosition, BlockData> blockEntry : chunkedChanges.get(chunkKey).entrySet()) {
+                BlockPosition pos = blockEntry.getKey();
+                reset.add(pos.getX(), pos.getY(), pos.getZ(), blockEntry.getValue());
+            }
+        }
+    }
+
     /**
      * Checks if a location is protected from block placement/breaking due to being near an end portal
      * Used for portal goal kits to prevent griefing near portals
@@ -300,6 +379,14 @@ public abstract class Match {
         Player player = Bukkit.getPlayer(playerUUID);
         if (player == null) return new ArrayList<>();
 
+        List<String> lines = getScoreboardLines();
+        return lines == null ? null : PlaceholderUtil.format(lines, player);
+    }
+
+    /**
+     * Unformatted scoreboard lines for the current state of the match
+     */
+    public List<String> getScoreboardLines() {
         // Check global in-game scoreboard setting
         if (!SettingsLocale.ENABLED_SCOREBOARD_INGAME.getBoolean()) return new ArrayList<>();
 
@@ -307,9 +394,9 @@ public abstract class Match {
         if (kit.is(KitRule.BED_WARS)) {
             if (!SettingsLocale.ENABLED_SCOREBOARD_INGAME_BEDWARS.getBoolean()) return new ArrayList<>();
             if (this instanceof SoloFightMatch) {
-                return PlaceholderUtil.format(new ArrayList<>(ScoreboardLocale.IN_GAME_BEDWARS.getStringList()), player);
+                return ScoreboardLocale.IN_GAME_BEDWARS.getStringList();
             } else if (this instanceof TeamFightMatch) {
-                return PlaceholderUtil.format(new ArrayList<>(ScoreboardLocale.IN_GAME_BEDWARS_TEAM.getStringList()), player);
+                return ScoreboardLocale.IN_GAME_BEDWARS_TEAM.getStringList();
             }
         }
 
@@ -318,36 +405,36 @@ public abstract class Match {
 
             if (kit.is(KitRule.BEST_OF_ROUNDS) && matchState.equals(MatchState.STARTING)) {
                 if (!SettingsLocale.ENABLED_SCOREBOARD_INGAME_BESTOF.getBoolean()) return new ArrayList<>();
-                return PlaceholderUtil.format(new ArrayList<>(ScoreboardLocale.IN_GAME_BEST_OF.getStringList()), player);
+                return ScoreboardLocale.IN_GAME_BEST_OF.getStringList();
             }
 
             switch (matchState) {
                 case STARTING:
                     if (!SettingsLocale.ENABLED_SCOREBOARD_INGAME_STARTING.getBoolean()) return new ArrayList<>();
-                    return PlaceholderUtil.format(new ArrayList<>(ScoreboardLocale.IN_GAME_STARTING.getStringList()), player);
+                    return ScoreboardLocale.IN_GAME_STARTING.getStringList();
                 case IN_ROUND:
                     if (this.getRounds() > 1) {
                         if (!SettingsLocale.ENABLED_SCOREBOARD_INGAME_BESTOF.getBoolean()) return new ArrayList<>();
-                        return PlaceholderUtil.format(new ArrayList<>(ScoreboardLocale.IN_GAME_BEST_OF.getStringList()), player);
+                        return ScoreboardLocale.IN_GAME_BEST_OF.getStringList();
                     }
                     if (this.getKit().is(KitRule.BOXING)) {
                         if (!SettingsLocale.ENABLED_SCOREBOARD_INGAME_BOXING.getBoolean()) return new ArrayList<>();
-                        return PlaceholderUtil.format(new ArrayList<>(ScoreboardLocale.IN_GAME_BOXING.getStringList()), player);
+                        return ScoreboardLocale.IN_GAME_BOXING.getStringList();
                     }
                     if (!SettingsLocale.ENABLED_SCOREBOARD_INGAME_REGULAR.getBoolean()) return new ArrayList<>();
-                    return PlaceholderUtil.format(new ArrayList<>(ScoreboardLocale.IN_GAME.getStringList()), player);
+                    return ScoreboardLocale.IN_GAME.getStringList();
                 case ENDING:
                     if (!SettingsLocale.ENABLED_SCOREBOARD_INGAME_ENDED.getBoolean()) return new ArrayList<>();
-                    return PlaceholderUtil.format(new ArrayList<>(ScoreboardLocale.IN_GAME_ENDED.getStringList()), player);
+                    return ScoreboardLocale.IN_GAME_ENDED.getStringList();
                 default:
                     break;
             }
         } else if (this instanceof TeamFightMatch) {
             if (!SettingsLocale.ENABLED_SCOREBOARD_INGAME_TEAM.getBoolean()) return new ArrayList<>();
-            return PlaceholderUtil.format(new ArrayList<>(ScoreboardLocale.IN_GAME_TEAM.getStringList()), player);
+            return ScoreboardLocale.IN_GAME_TEAM.getStringList();
         } else if (this instanceof FfaFightMatch) {
             if (!SettingsLocale.ENABLED_SCOREBOARD_INGAME_FFA.getBoolean()) return new ArrayList<>();
-            return PlaceholderUtil.format(new ArrayList<>(ScoreboardLocale.IN_GAME_FFA.getStringList()), player);
+            return ScoreboardLocale.IN_GAME_FFA.getStringList();
         }
 
         return null;
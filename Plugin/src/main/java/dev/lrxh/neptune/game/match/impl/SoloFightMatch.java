@@ -8,8 +8,6 @@ import dev.lrxh.neptune.feature.hotbar.HotbarService;
 import dev.lrxh.neptune.game.arena.Arena;
 import dev.lrxh.neptune.game.kit.Kit;
 import dev.lrxh.neptune.game.kit.impl.KitRule;
-import dev.lrxh.neptune.game.leaderboard.LeaderboardService;
-import dev.lrxh.neptune.game.leaderboard.impl.LeaderboardPlayerEntry;
 import dev.lrxh.neptune.game.match.Match;
 import dev.lrxh.neptune.game.match.impl.participant.DeathCause;
 import dev.lrxh.neptune.game.match.impl.participant.Participant;
@@ -157,9 +155,6 @@ public class SoloFightMatch extends Match {
 
         winnerProfile.getGameData().run(kit, true);
         loserProfile.getGameData().run(kit, false);
-
-        forEachParticipantForce(participant -> LeaderboardService.get().addChange
-                (new LeaderboardPlayerEntry(participant.getNameUnColored(), participant.getPlayerUUID(), kit)));
     }
 
     private Participant getLoser() {
@@ -133,12 +133,16 @@ public class Participant {
     }
 
     public String getHitsDifference(Participant otherParticipant) {
-        if (hits - otherParticipant.getHits() > 0) {
-            return CC.color("&a(+" + (hits - otherParticipant.getHits()) + ")");
-        } else if (hits - otherParticipant.getHits() < 0) {
-            return CC.color("&c(" + (hits - otherParticipant.getHits()) + ")");
+        return formatHitsDifference(hits - otherParticipant.getHits());
+    }
+
+    public static String formatHitsDifference(int difference) {
+        if (difference > 0) {
+            return CC.color("&a(+" + difference + ")");
+        } else if (difference < 0) {
+            return CC.color("&c(" + difference + ")");
         } else {
-            return CC.color("&e(" + (hits - otherParticipant.getHits()) + ")");
+            return CC.color("&e(" + difference + ")");
         }
     }
 
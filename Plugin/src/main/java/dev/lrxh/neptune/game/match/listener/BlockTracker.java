@@ -60,10 +60,8 @@ public class BlockTracker implements Listener {
             return;
         }
 
-        // If the block is not already tracked, save the original state for reset
-        if (!match.hasBlockChange(blockLocation)) {
-            match.addBlockChange(blockLocation, event.getBlockReplacedState().getBlockData());
-        }
+        // Save the original state for reset, blocks that are already tracked keep their first state
+        match.addBlockChange(blockLocation, event.getBlockReplacedState().getBlockData());
 
         // Mark this as a player-placed block
         match.getPlacedBlocks().add(blockLocation);
@@ -139,9 +137,7 @@ public class BlockTracker implements Listener {
                 }
 
                 for (Block block : event.blockList()) {
-                    if (!match.hasBlockChange(block.getLocation())) {
-                        match.addBlockChange(block.getLocation(), block.getBlockData());
-                    }
+                    match.addBlockChange(block.getLocation(), block.getBlockData());
                 }
             });
 
@@ -170,9 +166,7 @@ public class BlockTracker implements Listener {
                 }
 
                 for (Block block : event.blockList()) {
-                    if (!match.hasBlockChange(block.getLocation())) {
-                        match.addBlockChange(block.getLocation(), block.getBlockData());
-                    }
+                    match.addBlockChange(block.getLocation(), block.getBlockData());
                 }
             });
         }
@@ -181,7 +175,7 @@ public class BlockTracker implements Listener {
     @EventHandler(priority = EventPriority.LOWEST, ignoreCancelled = true)
     public void onBucketEmpty(PlayerBucketEmptyEvent event) {
         Player player = event.getPlayer();
-        getMatchForPlayer(player).ifPresent(match -> match.getLiquids().add(event.getBlock().getLocation()));
+        getMatchForPlayer(player).ifPresent(match -> match.addLiquid(event.getBlock().getLocation()));
     }
 
     @EventHandler(priority = EventPriority.LOWEST, ignoreCancelled = true)
@@ -195,9 +189,7 @@ public class BlockTracker implements Listener {
         }
 
         getMatchForPlayer(player).ifPresent(match -> {
-            if (!match.hasBlockChange(toBlock.getLocation())) {
-                match.addBlockChange(toBlock.getLocation(), Material.AIR.createBlockData());
-            }
+            match.addBlockChange(toBlock.getLocation(), Material.AIR.createBlockData());
         });
     }
 
@@ -217,9 +209,7 @@ public class BlockTracker implements Listener {
                 }
 
                 // Track original block state for reset, regardless of whether the block can be broken
-                if (!match.hasBlockChange(block.getLocation())) {
-                    match.addBlockChange(block.getLocation(), block.getBlockData());
-                }
+                match.addBlockChange(block.getLocation(), block.getBlockData());
 
                 // Handle LIMITED_BLOCK_BREAK rule with the new config system
                 if (match.getKit().is(KitRule.LIMITED_BLOCK_BREAK)) {
@@ -299,9 +289,7 @@ public class BlockTracker implements Listener {
             }
 
             // Track original block state for reset
-            if (!match.hasBlockChange(block.getLocation())) {
-                match.addBlockChange(block.getLocation(), block.getBlockData());
-            }
+            match.addBlockChange(block.getLocation(), block.getBlockData());
         });
     }
 
@@ -310,9 +298,7 @@ public class BlockTracker implements Listener {
         Player player = event.getPlayer();
         getMatchForPlayer(player).ifPresent(match -> {
             for (BlockState blockState : event.getReplacedBlockStates()) {
-                if (!match.hasBlockChange(blockState.getLocation())) {
-                    match.addBlockChange(blockState.getLocation(), blockState.getBlockData());
-                }
+                match.addBlockChange(blockState.getLocation(), blockState.getBlockData());
             }
         });
     }
@@ -348,9 +334,7 @@ public class BlockTracker implements Listener {
             }
 
             for (Block block : event.blockList()) {
-                if (!match.hasBlockChange(block.getLocation())) {
-                    match.addBlockChange(block.getLocation(), block.getBlockData());
-                }
+                match.addBlockChange(block.getLocation(), block.getBlockData());
             }
         });
     }
@@ -3,6 +3,7 @@ package dev.lrxh.neptune.game.match.tasks;
 import dev.lrxh.neptune.API;
 import dev.lrxh.neptune.Neptune;
 import dev.lrxh.neptune.feature.hotbar.HotbarService;
+import dev.lrxh.neptune.game.arena.ArenaResetService;
 import dev.lrxh.neptune.game.arena.impl.StandAloneArena;
 import dev.lrxh.neptune.game.kit.impl.KitRule;
 import dev.lrxh.neptune.game.match.Match;
@@ -58,7 +59,7 @@ public class MatchEndRunnable extends NeptuneRunnable {
             match.sendEndMessage();
 
             if (match.arena instanceof StandAloneArena standAloneArena) {
-                standAloneArena.setUsed(false);
+                ArenaResetService.get().whenReset(standAloneArena, () -> standAloneArena.setUsed(false));
             }
 
             MatchService.get().matches.remove(match);
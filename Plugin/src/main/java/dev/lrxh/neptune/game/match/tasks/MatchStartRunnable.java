@@ -3,6 +3,7 @@ package dev.lrxh.neptune.game.match.tasks;
 import dev.lrxh.neptune.API;
 import dev.lrxh.neptune.Neptune;
 import dev.lrxh.neptune.configs.impl.MessagesLocale;
+import dev.lrxh.neptune.configs.impl.SettingsLocale;
 import dev.lrxh.neptune.game.arena.impl.StandAloneArena;
 import dev.lrxh.neptune.game.kit.impl.KitRule;
 import dev.lrxh.neptune.game.match.Match;
@@ -35,6 +36,10 @@ public class MatchStartRunnable extends NeptuneRunnable {
 
         if (match.arena instanceof StandAloneArena standAloneArena) {
             standAloneArena.setUsed(true);
+
+            if (SettingsLocale.ARENA_RESET_SECTION_DIFF.getBoolean()) {
+                standAloneArena.prepareSectionTracking();
+            }
         }
 
         match.forEachPlayer(player -> {
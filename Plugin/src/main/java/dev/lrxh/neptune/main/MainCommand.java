@@ -8,13 +8,19 @@ import dev.lrxh.neptune.Neptune;
 import dev.lrxh.neptune.configs.ConfigService;
 import dev.lrxh.neptune.feature.cosmetics.CosmeticService;
 import dev.lrxh.neptune.feature.hotbar.HotbarService;
+import dev.lrxh.neptune.feature.queue.MatchmakingEngine;
+import dev.lrxh.neptune.feature.queue.QueueService;
+import dev.lrxh.neptune.game.arena.ArenaResetService;
 import dev.lrxh.neptune.game.arena.impl.StandAloneArena;
 import dev.lrxh.neptune.game.match.Match;
 import dev.lrxh.neptune.game.match.MatchService;
+import dev.lrxh.neptune.profile.ProfileSaveService;
+import dev.lrxh.neptune.profile.VisibilityService;
 import dev.lrxh.neptune.profile.data.ProfileState;
 import dev.lrxh.neptune.profile.impl.Profile;
 import dev.lrxh.neptune.utils.CC;
 import dev.lrxh.neptune.utils.PlayerUtil;
+import fr.mrmicky.fastboard.FastManager;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 
@@ -47,6 +53,65 @@ public class MainCommand {
         player.sendMessage(CC.success("Generated " + amount + " arenas! &7Check console for more info"));
     }
 
+    @Command(name = "snapshot", desc = "", usage = "<arena>")
+    @Require("neptune.admin")
+    public void snapshot(@Sender Player player, StandAloneArena arena) {
+        if (arena.isCopy()) {
+            player.sendMessage(CC.error("Copies use the snapshot of " + arena.getParentName() + "!"));
+            return;
+        }
+        if (!arena.refreshSnapshot()) {
+            player.sendMessage(CC.error("Arena or one of its copies is in use or being reset!"));
+            return;
+        }
+        player.sendMessage(CC.success("Captured " + arena.getName() + " again and pasted it into " + arena.getCopyArenas().size() + " copies"));
+    }
+
+    @Command(name = "resets", desc = "")
+    @Require("neptune.admin")
+    public void resets(@Sender Player player) {
+        ArenaResetService resetService = ArenaResetService.get();
+        player.sendMessage(CC.info("Queued resets: &f" + resetService.getQueueDepth() + " &7(" + resetService.getPendingBlocks() + " blocks)"));
+        player.sendMessage(CC.info("Average reset latency: &f" + resetService.getAverageLatency() + "ms"));
+    }
+
+    @Command(name = "saves", desc = "")
+    @Require("neptune.admin")
+    public void saves(@Sender Player player) {
+        ProfileSaveService saveService = ProfileSaveService.get();
+        player.sendMessage(CC.info("Pending profile saves: &f" + saveService.getPendingCount() + " &7(" + saveService.getWritten() + " written)"));
+        player.sendMessage(CC.info("Last flush: &f" + saveService.getLastFlushSize() + " profiles in " + saveService.getLastFlushLatency() + "ms &7(avg " + saveService.getAverageFlushLatency() + "ms)"));
+    }
+
+    @Command(name = "matchmaking", desc = "")
+    @Require("neptune.admin")
+    public void matchmaking(@Sender Player player) {
+        MatchmakingEngine engine = MatchmakingEngine.get();
+        player.sendMessage(CC.info("Queued players: &f" + QueueService.get().getSize()));
+        player.sendMessage(CC.info("Matches formed last tick: &f" + engine.getLastMatches() + " &7(" + engine.getTotalMatches() + " total)"));
+        player.sendMessage(CC.info("Time to match: &fp50 " + engine.getWaitPercentile(50) + "ms, p90 " + engine.getWaitPercentile(90) + "ms, p99 " + engine.getWaitPercentile(99) + "ms"));
+    }
+
+    @Command(name = "visibility", desc = "")
+    @Require("neptune.admin")
+    public void visibility(@Sender Player player) {
+        VisibilityService visibilityService = VisibilityService.get();
+        player.sendMessage(CC.info("Visibility calls: &f" + visibilityService.getShowCalls() + " shown, " + visibilityService.getHideCalls() + " hidden"));
+        player.sendMessage(CC.info("Pairs checked: &f" + visibilityService.getCheckedPairs()));
+    }
+
+    @Command(name = "scoreboard", desc = "")
+    @Require("neptune.admin")
+    public void scoreboard(@Sender Player player) {
+        FastManager fastManager = Neptune.get().getFastManager();
+        if (fastManager == null) {
+            player.sendMessage(CC.error("Scoreboard is disabled!"));
+            return;
+        }
+        player.sendMessage(CC.info("Scoreboard packets sent: &f" + fastManager.getPacketsPerSecond() + "/s"));
+        player.sendMessage(CC.info("Scoreboard lines not recolored: &f" + fastManager.getSkippedPerSecond() + "/s"));
+    }
+
     @Command(name = "reload", desc = "")
     @Require("neptune.admin")
     public void reload(@Sender Player player) {
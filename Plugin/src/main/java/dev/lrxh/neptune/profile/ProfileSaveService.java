@@ -0,0 +1,262 @@
+package dev.lrxh.neptune.profile;
+
+import dev.lrxh.neptune.API;
+import dev.lrxh.neptune.Neptune;
+import dev.lrxh.neptune.configs.impl.SettingsLocale;
+import dev.lrxh.neptune.profile.impl.Profile;
+import dev.lrxh.neptune.providers.database.DatabaseService;
+import dev.lrxh.neptune.providers.database.impl.DataDocument;
+import dev.lrxh.neptune.providers.database.impl.IDatabase;
+import dev.lrxh.neptune.utils.ServerUtils;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.bukkit.Bukkit;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Write-behind queue for profile documents, repeated saves of the same player
+ * are merged into one write and written in batches off the main thread.
+ */
+public class ProfileSaveService {
+    private static final int BATCH_WRITE_SIZE = 50;
+    private static final int DRAIN_PASSES = 3;
+    private static ProfileSaveService instance;
+    private final Map<UUID, PendingSave> pending = new ConcurrentHashMap<>();
+    private final Map<UUID, PendingSave> writing = new ConcurrentHashMap<>();
+    private final Object flushLock = new Object();
+    private volatile long lastFlushLatency;
+    private volatile long lastFlushSize;
+    private volatile long flushes;
+    private volatile long totalFlushLatency;
+    private volatile long written;
+
+    public static ProfileSaveService get() {
+        if (instance == null) instance = new ProfileSaveService();
+
+        return instance;
+    }
+
+    /**
+     * Queue a full profile document.
+     */
+    public void queue(UUID playerUUID, DataDocument document) {
+        queue(playerUUID, new PendingSave(document, false));
+    }
+
+    /**
+     * Queue only the changed parts of a profile that is already stored.
+     */
+    public void queueUpdate(UUID playerUUID, DataDocument changes) {
+        queue(playerUUID, new PendingSave(changes, true));
+    }
+
+    private void queue(UUID playerUUID, PendingSave save) {
+        if (SettingsLocale.DATABASE_SAVE_INTERVAL.getInt() <= 0) {
+            if (!write(playerUUID, save)) retry(playerUUID, save);
+            return;
+        }
+
+        pending.merge(playerUUID, save, PendingSave::merge);
+    }
+
+    /**
+     * Latest full document that was saved but is not in the database yet.
+     *
+     * @param playerUUID UUID of the player
+     * @return Pending document or null if there is none or only changes are pending
+     */
+    public DataDocument getPending(UUID playerUUID) {
+        PendingSave save = getPendingSave(playerUUID);
+        return save == null || save.isPartial() ? null : save.getDocument();
+    }
+
+    /**
+     * Apply saves that are not in the database yet on top of a stored document,
+     * loads have to go through this so they never see stale data.
+     *
+     * @param playerUUID UUID of the player
+     * @param stored     Document read from the database, null if there is none
+     * @return Up to date document or null
+     */
+    public DataDocument applyPending(UUID playerUUID, DataDocument stored) {
+        PendingSave save = getPendingSave(playerUUID);
+        if (save == null) return stored;
+        if (!save.isPartial()) return save.getDocument();
+        if (stored == null) return null;
+
+        return stored.merge(save.getDocument());
+    }
+
+    private PendingSave getPendingSave(UUID playerUUID) {
+        PendingSave save = pending.get(playerUUID);
+        if (save != null) return save;
+
+        return writing.get(playerUUID);
+    }
+
+    /**
+     * Write at most one batch of pending documents.
+     */
+    public void flush() {
+        flush(Math.max(1, SettingsLocale.DATABASE_SAVE_BATCH_SIZE.getInt()));
+    }
+
+    /**
+     * Write every pending document, used when the plugin gets disabled.
+     * Failed writes and full saves requested while draining get a few more passes.
+     */
+    public void drain() {
+        for (int pass = 0; pass < DRAIN_PASSES && !pending.isEmpty(); pass++) {
+            flush(Integer.MAX_VALUE);
+        }
+
+        if (!pending.isEmpty()) ServerUtils.error("Could not save " + pending.size() + " profiles before shutting down");
+    }
+
+    private void flush(int max) {
+        synchronized (flushLock) {
+            if (pending.isEmpty()) return;
+
+            long start = System.currentTimeMillis();
+            int count = 0;
+
+            Iterator<UUID> iterator = pending.keySet().iterator();
+            while (iterator.hasNext()) {
+                Map<UUID, DataDocument> batch = new LinkedHashMap<>();
+                Map<UUID, PendingSave> taken = new LinkedHashMap<>();
+                while (iterator.hasNext() && taken.size() < BATCH_WRITE_SIZE && count < max) {
+                    UUID playerUUID = iterator.next();
+                    PendingSave save = pending.remove(playerUUID);
+                    if (save == null) continue;
+
+                    writing.put(playerUUID, save);
+                    taken.put(playerUUID, save);
+                    if (!save.isPartial()) batch.put(playerUUID, save.getDocument());
+                    count++;
+                }
+
+                if (taken.isEmpty()) break;
+
+                try {
+                    boolean batchWritten = write(batch);
+                    for (Map.Entry<UUID, PendingSave> entry : taken.entrySet()) {
+                        PendingSave save = entry.getValue();
+                        boolean saved = save.isPartial() ? write(entry.getKey(), save) : batchWritten;
+                        if (!saved) retry(entry.getKey(), save);
+                    }
+                } finally {
+                    for (Map.Entry<UUID, PendingSave> entry : taken.entrySet()) {
+                        writing.remove(entry.getKey(), entry.getValue());
+                    }
+                }
+            }
+
+            lastFlushLatency = System.currentTimeMillis() - start;
+            lastFlushSize = count;
+            flushes++;
+            totalFlushLatency += lastFlushLatency;
+            written += count;
+        }
+    }
+
+    private boolean write(Map<UUID, DataDocument> batch) {
+        if (batch.isEmpty()) return true;
+
+        try {
+            DatabaseService.get().getDatabase().replace(batch);
+            return true;
+        } catch (Exception e) {
+            ServerUtils.error("Error saving " + batch.size() + " profiles, retrying next flush: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean write(UUID playerUUID, PendingSave save) {
+        try {
+            IDatabase database = DatabaseService.get().getDatabase();
+            if (!save.isPartial()) {
+                database.replace(playerUUID, save.getDocument());
+            } else if (!database.update(playerUUID, save.getDocument())) {
+                requestFullSave(playerUUID);
+            }
+            return true;
+        } catch (Exception e) {
+            ServerUtils.error("Error saving profile " + playerUUID + ", retrying next flush: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Put a failed save back in the queue, anything queued since then is newer and goes on top of it.
+     */
+    private void retry(UUID playerUUID, PendingSave failed) {
+        pending.merge(playerUUID, failed, (newer, old) -> old.merge(newer));
+    }
+
+    /**
+     * Changes were written for a player that has nothing stored, which happens when the first full
+     * write never landed. The loaded profile writes everything again instead.
+     */
+    private void requestFullSave(UUID playerUUID) {
+        Runnable save = () -> {
+            Profile profile = API.getProfile(playerUUID);
+            if (profile == null) {
+                ServerUtils.error("Profile " + playerUUID + " is not stored and no longer loaded, its unsaved changes are lost");
+                return;
+            }
+
+            profile.requireFullSave();
+            profile.save();
+        };
+
+        if (Bukkit.isPrimaryThread()) {
+            save.run();
+        } else if (Neptune.get().isEnabled()) {
+            Bukkit.getScheduler().runTask(Neptune.get(), save);
+        }
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    public long getLastFlushLatency() {
+        return lastFlushLatency;
+    }
+
+    public long getLastFlushSize() {
+        return lastFlushSize;
+    }
+
+    public long getAverageFlushLatency() {
+        long count = flushes;
+        return count == 0 ? 0 : totalFlushLatency / count;
+    }
+
+    public long getWritten() {
+        return written;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class PendingSave {
+        private final DataDocument document;
+        private final boolean partial;
+
+        /**
+         * Combine a queued save with a newer one, a full document replaces everything
+         * while changes are applied on top of what is already queued.
+         */
+        private PendingSave merge(PendingSave newer) {
+            if (!newer.partial) return newer;
+
+            document.merge(newer.document);
+            return this;
+        }
+    }
+}
@@ -3,14 +3,22 @@ package dev.lrxh.neptune.profile;
 import dev.lrxh.neptune.Neptune;
 import dev.lrxh.neptune.feature.queue.QueueService;
 import dev.lrxh.neptune.profile.impl.Profile;
+import dev.lrxh.neptune.providers.database.impl.DataDocument;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import org.bukkit.entity.Player;
 
 import java.util.IdentityHashMap;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class ProfileService {
+    private static final DataDocument NO_DATA = new DataDocument();
     private static ProfileService instance;
     public final IdentityHashMap<UUID, Profile> profiles = new IdentityHashMap<>();
+    private final Map<UUID, Preload> preloaded = new ConcurrentHashMap<>();
+    private final Map<UUID, Long> saveVersions = new ConcurrentHashMap<>();
     private final Neptune plugin;
 
     public ProfileService() {
@@ -23,8 +31,36 @@ public class ProfileService {
         return instance;
     }
 
+    /**
+     * Fetch the data of a joining player ahead of time, called from the async pre login.
+     *
+     * @param playerUUID UUID of the joining player
+     */
+    public void preload(UUID playerUUID) {
+        long version = saveVersions.getOrDefault(playerUUID, 0L);
+        DataDocument dataDocument = Profile.fetch(playerUUID);
+        preloaded.put(playerUUID, new Preload(dataDocument == null ? NO_DATA : dataDocument, version));
+    }
+
+    public void discardPreload(UUID playerUUID) {
+        preloaded.remove(playerUUID);
+    }
+
     public void createProfile(Player player) {
-        profiles.put(player.getUniqueId(), new Profile(player.getName(), player.getUniqueId(), plugin));
+        UUID playerUUID = player.getUniqueId();
+        Preload preload = preloaded.remove(playerUUID);
+
+        // A previous session quit after the data was fetched, its save may already be written and no longer pending
+        if (preload == null || preload.getVersion() != saveVersions.getOrDefault(playerUUID, 0L)) {
+            profiles.put(playerUUID, new Profile(player.getName(), playerUUID, plugin));
+            return;
+        }
+
+        // A previous session may have been saved after the data was preloaded
+        DataDocument dataDocument = preload.getDocument();
+        dataDocument = ProfileSaveService.get().applyPending(playerUUID, dataDocument == NO_DATA ? null : dataDocument);
+
+        profiles.put(playerUUID, new Profile(player.getName(), playerUUID, plugin, dataDocument));
     }
 
     public void removeProfile(UUID playerUUID) {
@@ -32,8 +68,10 @@ public class ProfileService {
         Profile profile = profiles.get(playerUUID);
         profile.save();
         profile.disband();
+        saveVersions.merge(playerUUID, 1L, Long::sum);
 
         profiles.remove(playerUUID);
+        VisibilityService.get().remove(playerUUID);
     }
 
     public void saveAll() {
@@ -52,4 +90,11 @@ public class ProfileService {
 
         return null;
     }
+
+    @Getter
+    @AllArgsConstructor
+    private static class Preload {
+        private final DataDocument document;
+        private final long version;
+    }
 }
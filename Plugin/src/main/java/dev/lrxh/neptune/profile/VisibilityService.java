@@ -0,0 +1,169 @@
+package dev.lrxh.neptune.profile;
+
+import dev.lrxh.neptune.API;
+import dev.lrxh.neptune.Neptune;
+import dev.lrxh.neptune.game.match.Match;
+import dev.lrxh.neptune.profile.data.ProfileState;
+import dev.lrxh.neptune.profile.impl.Profile;
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Keeps players in visibility groups (lobby, match, match spectators) and only updates the pairs a change can affect.
+ * Players that share no related group never see each other, so they are left alone.
+ */
+@Getter
+public class VisibilityService {
+    private static final String LOBBY = "lobby";
+    private static final String NONE = "none";
+    private static VisibilityService instance;
+    @Getter(AccessLevel.NONE)
+    private final Map<UUID, String> groups = new HashMap<>();
+    @Getter(AccessLevel.NONE)
+    private final Map<String, Set<UUID>> members = new HashMap<>();
+    @Getter(AccessLevel.NONE)
+    private final Map<UUID, Boolean> settings = new HashMap<>();
+    private long showCalls;
+    private long hideCalls;
+    private long checkedPairs;
+
+    public static VisibilityService get() {
+        if (instance == null) instance = new VisibilityService();
+
+        return instance;
+    }
+
+    /**
+     * Apply the visibility of a player after its state, match or visibility setting changed.
+     */
+    public void update(UUID playerUUID) {
+        Player player = Bukkit.getPlayer(playerUUID);
+        Profile profile = API.getProfile(playerUUID);
+        if (player == null || profile == null) return;
+
+        String group = getGroup(profile);
+        String previous = groups.put(playerUUID, group);
+        boolean visibility = profile.getSettingData().isPlayerVisibility();
+        Boolean previousVisibility = settings.put(playerUUID, visibility);
+
+        if (previous == null) {
+            // Not tracked yet, nothing is known about what the player currently sees
+            join(playerUUID, group);
+            for (Player other : Bukkit.getOnlinePlayers()) {
+                apply(player, profile, other.getUniqueId());
+            }
+            return;
+        }
+
+        // Same group and setting means every pair still resolves the same way
+        if (previous.equals(group) && previousVisibility != null && previousVisibility == visibility) return;
+
+        if (!previous.equals(group)) {
+            leave(playerUUID, previous);
+            join(playerUUID, group);
+        }
+
+        Set<UUID> candidates = new HashSet<>();
+        addCandidates(candidates, previous);
+        if (!previous.equals(group)) addCandidates(candidates, group);
+
+        for (UUID otherUUID : candidates) {
+            apply(player, profile, otherUUID);
+        }
+    }
+
+    public void remove(UUID playerUUID) {
+        String group = groups.remove(playerUUID);
+        settings.remove(playerUUID);
+        if (group != null) leave(playerUUID, group);
+    }
+
+    private void apply(Player player, Profile profile, UUID otherUUID) {
+        if (otherUUID.equals(player.getUniqueId())) return;
+
+        Player otherPlayer = Bukkit.getPlayer(otherUUID);
+        Profile otherProfile = API.getProfile(otherUUID);
+        if (otherPlayer == null || otherProfile == null) return;
+
+        checkedPairs++;
+        setVisible(player, otherPlayer, canSee(profile, otherProfile));
+        setVisible(otherPlayer, player, canSee(otherProfile, profile));
+    }
+
+    private void setVisible(Player viewer, Player target, boolean visible) {
+        if (viewer.canSee(target) == visible) return;
+
+        if (visible) {
+            viewer.showPlayer(Neptune.get(), target);
+            showCalls++;
+        } else {
+            viewer.hidePlayer(Neptune.get(), target);
+            hideCalls++;
+        }
+    }
+
+    private boolean canSee(Profile viewer, Profile target) {
+        if (viewer.hasState(ProfileState.IN_GAME) && target.hasState(ProfileState.IN_GAME) && isSameMatch(viewer, target)) return true;
+        if (viewer.hasState(ProfileState.IN_SPECTATOR) && target.hasState(ProfileState.IN_GAME) && isSameMatch(viewer, target)) return true;
+        if (!viewer.getSettingData().isPlayerVisibility()) return false;
+
+        return isLobby(viewer) && isLobby(target);
+    }
+
+    private boolean isSameMatch(Profile profile, Profile other) {
+        Match match = profile.getMatch();
+        return match != null && other.getMatch() != null && match.getUuid().equals(other.getMatch().getUuid());
+    }
+
+    private boolean isLobby(Profile profile) {
+        return profile.hasState(ProfileState.IN_LOBBY, ProfileState.IN_QUEUE, ProfileState.IN_PARTY);
+    }
+
+    private String getGroup(Profile profile) {
+        if (isLobby(profile)) return LOBBY;
+
+        Match match = profile.getMatch();
+        if (match == null) return NONE;
+        if (profile.hasState(ProfileState.IN_GAME)) return "match:" + match.getUuid();
+        if (profile.hasState(ProfileState.IN_SPECTATOR)) return "spectator:" + match.getUuid();
+
+        return NONE;
+    }
+
+    /**
+     * Add everyone whose visibility towards a member of the group can depend on that member.
+     */
+    private void addCandidates(Set<UUID> candidates, String group) {
+        if (group.equals(NONE)) return;
+        candidates.addAll(members.getOrDefault(group, Collections.emptySet()));
+
+        // Spectators watch the participants of their match
+        if (group.startsWith("match:")) {
+            candidates.addAll(members.getOrDefault("spectator:" + group.substring(6), Collections.emptySet()));
+        } else if (group.startsWith("spectator:")) {
+            candidates.addAll(members.getOrDefault("match:" + group.substring(10), Collections.emptySet()));
+        }
+    }
+
+    private void join(UUID playerUUID, String group) {
+        if (group.equals(NONE)) return;
+        members.computeIfAbsent(group, key -> new HashSet<>()).add(playerUUID);
+    }
+
+    private void leave(UUID playerUUID, String group) {
+        Set<UUID> groupMembers = members.get(group);
+        if (groupMembers == null) return;
+
+        groupMembers.remove(playerUUID);
+        if (groupMembers.isEmpty()) members.remove(group);
+    }
+}
@@ -6,10 +6,13 @@ import dev.lrxh.neptune.configs.impl.SettingsLocale;
 import dev.lrxh.neptune.feature.party.Party;
 import dev.lrxh.neptune.game.kit.Kit;
 import dev.lrxh.neptune.game.kit.KitService;
+import dev.lrxh.neptune.game.leaderboard.LeaderboardService;
 import dev.lrxh.neptune.game.match.Match;
+import dev.lrxh.neptune.profile.impl.Profile;
 import dev.lrxh.neptune.providers.request.Request;
 import dev.lrxh.neptune.utils.TtlAction;
 import dev.lrxh.neptune.utils.TtlHashMap;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import org.bukkit.entity.Player;
@@ -17,12 +20,14 @@ import org.bukkit.entity.Player;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
 import java.util.function.Consumer;
 
 @Getter
 @Setter
 public class GameData {
+    private final Profile profile;
     private final TtlHashMap<UUID, Request> requests = new TtlHashMap<>(SettingsLocale.REQUEST_EXPIRY_TIME.getInt());
     private Match match;
     private HashMap<Kit, KitData> kitData;
@@ -32,8 +37,13 @@ public class GameData {
     private Party party;
     private GlobalStats globalStats;
     private String lastPlayedKit;
+    @Setter(AccessLevel.NONE)
+    private boolean historyDirty;
+    @Setter(AccessLevel.NONE)
+    private boolean lastPlayedKitDirty;
 
-    public GameData() {
+    public GameData(Profile profile) {
+        this.profile = profile;
         this.kitData = new HashMap<>();
         this.matchHistories = new ArrayList<>();
         this.gson = new GsonBuilder().setPrettyPrinting().create();
@@ -78,13 +88,15 @@ public class GameData {
     }
 
     public void run(Kit kit, boolean won) {
-        lastPlayedKit = kit.getName();
+        setLastPlayedKit(kit.getName());
         KitData kitData = this.kitData.get(kit);
         if (won) {
             updateWin(kitData);
         } else {
             updateLosses(kitData);
         }
+
+        LeaderboardService.get().update(profile.getPlayerUUID(), profile.getUsername(), kit, kitData);
     }
 
     private void updateWin(KitData kitData) {
@@ -152,6 +164,29 @@ public class GameData {
             matchHistories.remove(0);
         }
         matchHistories.add(matchHistory);
+        historyDirty = true;
+    }
+
+    public void setMatchHistories(ArrayList<MatchHistory> matchHistories) {
+        this.matchHistories = matchHistories;
+        historyDirty = true;
+    }
+
+    public void setLastPlayedKit(String lastPlayedKit) {
+        if (!Objects.equals(this.lastPlayedKit, lastPlayedKit)) lastPlayedKitDirty = true;
+        this.lastPlayedKit = lastPlayedKit;
+    }
+
+    /**
+     * Mark all statistics, settings excluded, as saved.
+     */
+    public void clean() {
+        historyDirty = false;
+        lastPlayedKitDirty = false;
+        globalStats.clean();
+        for (KitData data : kitData.values()) {
+            data.clean();
+        }
     }
 
     private String serialize(MatchHistory matchHistory) {
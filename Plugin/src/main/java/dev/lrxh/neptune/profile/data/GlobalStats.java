@@ -1,5 +1,6 @@
 package dev.lrxh.neptune.profile.data;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -10,23 +11,44 @@ public class GlobalStats {
     private int losses = 0;
     private int currentStreak = 0;
     private int bestStreak = 0;
+    @Setter(AccessLevel.NONE)
+    private boolean dirty;
+
+    public void setWins(int wins) {
+        if (this.wins != wins) dirty = true;
+        this.wins = wins;
+    }
+
+    public void setLosses(int losses) {
+        if (this.losses != losses) dirty = true;
+        this.losses = losses;
+    }
+
+    public void setCurrentStreak(int currentStreak) {
+        if (this.currentStreak != currentStreak) dirty = true;
+        this.currentStreak = currentStreak;
+    }
 
     public void addWins(int value) {
-        this.wins += value;
+        setWins(wins + value);
     }
 
     public void addLosses(int value) {
-        this.losses += value;
+        setLosses(losses + value);
     }
 
     public void addCurrentStreak(int value) {
-        this.currentStreak += value;
+        setCurrentStreak(currentStreak + value);
 
         if (currentStreak > bestStreak) {
             this.bestStreak = currentStreak;
         }
     }
 
+    public void clean() {
+        dirty = false;
+    }
+
     public double getWinRatio() {
         int totalGames = wins + losses;
         return Math.round(((double) wins / totalGames) * 100);
@@ -2,6 +2,8 @@ package dev.lrxh.neptune.profile.data;
 
 import dev.lrxh.neptune.game.divisions.DivisionService;
 import dev.lrxh.neptune.game.divisions.impl.Division;
+import dev.lrxh.neptune.utils.LoadoutCodec;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import org.bukkit.inventory.ItemStack;
@@ -19,7 +21,34 @@ public class KitData {
     private int bestStreak = 0;
     private int currentStreak = 0;
     private List<ItemStack> kitLoadout = new ArrayList<>();
+    @Setter(AccessLevel.NONE)
+    @Getter(AccessLevel.NONE)
+    private String encodedLoadout;
     private Division division;
+    @Setter(AccessLevel.NONE)
+    private boolean statsDirty;
+    @Setter(AccessLevel.NONE)
+    private boolean loadoutDirty;
+
+    public void setWins(int wins) {
+        if (this.wins != wins) statsDirty = true;
+        this.wins = wins;
+    }
+
+    public void setLosses(int losses) {
+        if (this.losses != losses) statsDirty = true;
+        this.losses = losses;
+    }
+
+    public void setBestStreak(int bestStreak) {
+        if (this.bestStreak != bestStreak) statsDirty = true;
+        this.bestStreak = bestStreak;
+    }
+
+    public void setCurrentStreak(int currentStreak) {
+        if (this.currentStreak != currentStreak) statsDirty = true;
+        this.currentStreak = currentStreak;
+    }
 
     public double getKdr() {
         if (losses == 0) return wins;
@@ -29,6 +58,42 @@ public class KitData {
         return bd.doubleValue();
     }
 
+    public void setKitLoadout(List<ItemStack> kitLoadout) {
+        this.kitLoadout = kitLoadout;
+        this.encodedLoadout = null;
+        this.loadoutDirty = true;
+    }
+
+    /**
+     * Set a loadout that was just decoded, keeping its encoded form so saving
+     * an unchanged loadout doesn't encode it again. A loadout that couldn't be decoded
+     * is empty and keeps its stored form, so it isn't overwritten until it's edited.
+     *
+     * @param kitLoadout     Decoded loadout
+     * @param encodedLoadout Stored form of the loadout, empty for the kit default
+     */
+    public void setKitLoadout(List<ItemStack> kitLoadout, String encodedLoadout) {
+        this.kitLoadout = kitLoadout;
+        this.encodedLoadout = encodedLoadout != null && (encodedLoadout.isEmpty() || kitLoadout.isEmpty() || LoadoutCodec.isEncoded(encodedLoadout)) ? encodedLoadout : null;
+    }
+
+    public String getEncodedLoadout() {
+        if (encodedLoadout == null) {
+            encodedLoadout = kitLoadout == null || kitLoadout.isEmpty() ? "" : LoadoutCodec.encode(kitLoadout);
+        }
+
+        return encodedLoadout;
+    }
+
+    /**
+     * Mark everything as saved, a loadout that still has no encoded form
+     * (legacy format) stays dirty so it gets rewritten.
+     */
+    public void clean() {
+        statsDirty = false;
+        loadoutDirty = encodedLoadout == null;
+    }
+
     public void updateDivision() {
         division = DivisionService.get().getDivisionByWinCount(wins);
     }
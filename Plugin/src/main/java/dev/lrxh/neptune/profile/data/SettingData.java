@@ -4,6 +4,7 @@ import dev.lrxh.neptune.Neptune;
 import dev.lrxh.neptune.feature.cosmetics.CosmeticService;
 import dev.lrxh.neptune.feature.cosmetics.impl.KillEffect;
 import dev.lrxh.neptune.feature.cosmetics.impl.KillMessagePackage;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -24,20 +25,66 @@ public class SettingData {
     private boolean menuSound = true;
     private KillMessagePackage killMessagePackage;
     private List<UUID> followings = new ArrayList<>();
+    @Setter(AccessLevel.NONE)
+    private boolean dirty;
 
     public SettingData(Neptune plugin) {
         this.plugin = plugin;
         this.killMessagePackage = CosmeticService.get().getDefault();
     }
 
+    public void setPlayerVisibility(boolean playerVisibility) {
+        if (this.playerVisibility != playerVisibility) dirty = true;
+        this.playerVisibility = playerVisibility;
+    }
+
+    public void setAllowSpectators(boolean allowSpectators) {
+        if (this.allowSpectators != allowSpectators) dirty = true;
+        this.allowSpectators = allowSpectators;
+    }
+
+    public void setAllowDuels(boolean allowDuels) {
+        if (this.allowDuels != allowDuels) dirty = true;
+        this.allowDuels = allowDuels;
+    }
+
+    public void setAllowParty(boolean allowParty) {
+        if (this.allowParty != allowParty) dirty = true;
+        this.allowParty = allowParty;
+    }
+
+    public void setMaxPing(int maxPing) {
+        if (this.maxPing != maxPing) dirty = true;
+        this.maxPing = maxPing;
+    }
+
+    public void setKillEffect(KillEffect killEffect) {
+        if (this.killEffect != killEffect) dirty = true;
+        this.killEffect = killEffect;
+    }
+
+    public void setMenuSound(boolean menuSound) {
+        if (this.menuSound != menuSound) dirty = true;
+        this.menuSound = menuSound;
+    }
+
+    public void setKillMessagePackage(KillMessagePackage killMessagePackage) {
+        if (this.killMessagePackage != killMessagePackage) dirty = true;
+        this.killMessagePackage = killMessagePackage;
+    }
+
     public void increasePing() {
         if (maxPing == 350) return;
-        maxPing += 10;
+        setMaxPing(maxPing + 10);
     }
 
     public void decreasePing() {
         if (maxPing == 10) return;
-        maxPing -= 10;
+        setMaxPing(maxPing - 10);
+    }
+
+    public void clean() {
+        dirty = false;
     }
 
     public void addFollower(UUID follower) {
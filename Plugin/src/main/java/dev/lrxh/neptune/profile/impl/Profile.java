@@ -13,12 +13,16 @@ import dev.lrxh.neptune.game.kit.Kit;
 import dev.lrxh.neptune.game.kit.KitService;
 import dev.lrxh.neptune.game.kit.procedure.KitProcedure;
 import dev.lrxh.neptune.game.match.Match;
+import dev.lrxh.neptune.profile.ProfileSaveService;
+import dev.lrxh.neptune.profile.VisibilityService;
 import dev.lrxh.neptune.profile.data.*;
 import dev.lrxh.neptune.providers.clickable.ClickableComponent;
 import dev.lrxh.neptune.providers.clickable.Replacement;
 import dev.lrxh.neptune.providers.database.DatabaseService;
 import dev.lrxh.neptune.providers.database.impl.DataDocument;
-import dev.lrxh.neptune.utils.ItemUtils;
+import dev.lrxh.neptune.utils.LoadoutCodec;
+import fr.mrmicky.fastboard.FastManager;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import net.kyori.adventure.text.TextComponent;
@@ -39,27 +43,53 @@ public class Profile {
     private Neptune plugin;
     private GameData gameData;
     private SettingData settingData;
-    private Visibility visibility;
     private ArenaProcedure arenaProcedure;
     private KitProcedure kitProcedure;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean stored;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean usernameDirty;
 
     public Profile(String name, UUID uuid, Neptune plugin) {
+        this(name, uuid, plugin, fetch(uuid));
+    }
+
+    /**
+     * Create a profile from data that was already fetched.
+     *
+     * @param dataDocument Stored data of the player, null if the player is new
+     */
+    public Profile(String name, UUID uuid, Neptune plugin, DataDocument dataDocument) {
         this.plugin = plugin;
         this.username = name;
         this.playerUUID = uuid;
         this.state = ProfileState.IN_LOBBY;
-        this.gameData = new GameData();
+        this.gameData = new GameData(this);
         this.settingData = new SettingData(plugin);
-        this.visibility = new Visibility(playerUUID);
         this.arenaProcedure = new ArenaProcedure();
         this.kitProcedure = new KitProcedure();
 
-        load();
+        load(dataDocument);
+    }
+
+    /**
+     * Fetch the stored data of a player, safe to call off the main thread.
+     *
+     * @param playerUUID UUID of the player
+     * @return Stored data, null if the player is new
+     */
+    public static DataDocument fetch(UUID playerUUID) {
+        DataDocument dataDocument = ProfileSaveService.get().getPending(playerUUID);
+        if (dataDocument != null) return dataDocument;
+
+        return ProfileSaveService.get().applyPending(playerUUID, DatabaseService.get().getDatabase().getUserData(playerUUID));
     }
 
 
     public void handleVisibility() {
-        visibility.handle();
+        VisibilityService.get().update(playerUUID);
     }
 
     public boolean hasState(ProfileState profileState) {
@@ -79,6 +109,9 @@ public class Profile {
         state = profileState;
         handleVisibility();
         HotbarService.get().giveItems(getPlayer());
+
+        FastManager fastManager = plugin.getFastManager();
+        if (fastManager != null) fastManager.refresh(playerUUID);
     }
 
     public Player getPlayer() {
@@ -86,8 +119,10 @@ public class Profile {
     }
 
     public void load() {
-        DataDocument dataDocument = DatabaseService.get().getDatabase().getUserData(playerUUID);
+        load(fetch(playerUUID));
+    }
 
+    public void load(DataDocument dataDocument) {
         if (dataDocument == null) {
             save();
         }
@@ -107,7 +142,8 @@ public class Profile {
             profileKitData.setWins(kitDocument.getInteger("WINS", 0));
             profileKitData.setLosses(kitDocument.getInteger("LOSSES", 0));
             profileKitData.setBestStreak(kitDocument.getInteger("WIN_STREAK_BEST", 0));
-            profileKitData.setKitLoadout(Objects.equals(kitDocument.getString("kit"), "") ? kit.getItems() : ItemUtils.deserialize(kitDocument.getString("kit")));
+            String loadout = kitDocument.getString("kit");
+            profileKitData.setKitLoadout(Objects.equals(loadout, "") ? kit.getItems() : LoadoutCodec.decode(loadout), loadout);
             profileKitData.updateDivision();
         }
 
@@ -124,9 +160,67 @@ public class Profile {
         settingData.setKillEffect(KillEffect.valueOf(settings.getString("killEffect", "NONE")));
         settingData.setMenuSound(settings.getBoolean("menuSound", false));
         settingData.setKillMessagePackage(CosmeticService.get().getDeathMessagePackage(settings.getString("deathMessagePackage")));
+
+        stored = true;
+        usernameDirty = !username.equals(dataDocument.getString("username"));
+        gameData.clean();
+        settingData.clean();
     }
 
+    /**
+     * Queue the profile for saving, once a full document is stored only the
+     * changed parts are written if the database supports partial updates.
+     */
     public void save() {
+        if (stored && DatabaseService.get().getDatabase().hasPartialUpdates()) {
+            DataDocument changes = toChanges();
+            if (!changes.data.isEmpty()) ProfileSaveService.get().queueUpdate(playerUUID, changes);
+        } else {
+            ProfileSaveService.get().queue(playerUUID, toDocument());
+        }
+
+        stored = true;
+        usernameDirty = false;
+        gameData.clean();
+        settingData.clean();
+    }
+
+    /**
+     * Make the next save write the whole profile instead of only what changed.
+     */
+    public void requireFullSave() {
+        stored = false;
+    }
+
+    /**
+     * Build a document holding only what changed since the last save.
+     */
+    public DataDocument toChanges() {
+        DataDocument changes = new DataDocument();
+        if (usernameDirty) changes.put("username", username);
+        if (gameData.isHistoryDirty()) changes.put("history", gameData.serializeHistory());
+
+        DataDocument kitStatsDoc = new DataDocument();
+        for (Kit kit : KitService.get().kits) {
+            KitData entry = gameData.get(kit);
+            if (!entry.isStatsDirty() && !entry.isLoadoutDirty()) continue;
+
+            DataDocument kitStatisticsDocument = new DataDocument();
+            if (entry.isStatsDirty()) putKitStats(kitStatisticsDocument, entry);
+            if (entry.isLoadoutDirty()) kitStatisticsDocument.put("kit", entry.getEncodedLoadout());
+            kitStatsDoc.put(kit.getName(), kitStatisticsDocument);
+        }
+
+        if (gameData.getGlobalStats().isDirty()) putGlobalStats(kitStatsDoc);
+        if (gameData.isLastPlayedKitDirty()) kitStatsDoc.put("lastPlayedKit", gameData.getLastPlayedKit());
+        if (!kitStatsDoc.data.isEmpty()) changes.put("kitData", kitStatsDoc);
+
+        if (settingData.isDirty()) changes.put("settings", toSettingsDocument());
+
+        return changes;
+    }
+
+    public DataDocument toDocument() {
         DataDocument dataDocument = new DataDocument();
         dataDocument.put("uuid", playerUUID.toString());
 
@@ -139,22 +233,36 @@ public class Profile {
         for (Kit kit : KitService.get().kits) {
             DataDocument kitStatisticsDocument = new DataDocument();
             KitData entry = gameData.get(kit);
-            kitStatisticsDocument.put("WIN_STREAK_CURRENT", entry.getCurrentStreak());
-            kitStatisticsDocument.put("WINS", entry.getWins());
-            kitStatisticsDocument.put("LOSSES", entry.getLosses());
-            kitStatisticsDocument.put("WIN_STREAK_BEST", entry.getBestStreak());
-            kitStatisticsDocument.put("kit", entry.getKitLoadout() == null || entry.getKitLoadout().isEmpty() ? "" : ItemUtils.serialize(entry.getKitLoadout()));
-            entry.updateDivision();
+            putKitStats(kitStatisticsDocument, entry);
+            kitStatisticsDocument.put("kit", entry.getEncodedLoadout());
             kitStatsDoc.put(kit.getName(), kitStatisticsDocument);
         }
 
-        kitStatsDoc.put("GLOBAL_WINS", gameData.getGlobalStats().getWins());
-        kitStatsDoc.put("GLOBAL_LOSSES", gameData.getGlobalStats().getLosses());
-        kitStatsDoc.put("GLOBAL_WIN_STREAK_CURRENT", gameData.getGlobalStats().getCurrentStreak());
+        putGlobalStats(kitStatsDoc);
         kitStatsDoc.put("lastPlayedKit", gameData.getLastPlayedKit());
 
         dataDocument.put("kitData", kitStatsDoc);
+        dataDocument.put("settings", toSettingsDocument());
 
+        return dataDocument;
+    }
+
+    private void putKitStats(DataDocument kitStatisticsDocument, KitData entry) {
+        kitStatisticsDocument.put("WIN_STREAK_CURRENT", entry.getCurrentStreak());
+        kitStatisticsDocument.put("WINS", entry.getWins());
+        kitStatisticsDocument.put("LOSSES", entry.getLosses());
+        kitStatisticsDocument.put("WIN_STREAK_BEST", entry.getBestStreak());
+        entry.updateDivision();
+        if (entry.getDivision() != null) kitStatisticsDocument.put("DIVISION", entry.getDivision().getName());
+    }
+
+    private void putGlobalStats(DataDocument kitStatsDoc) {
+        kitStatsDoc.put("GLOBAL_WINS", gameData.getGlobalStats().getWins());
+        kitStatsDoc.put("GLOBAL_LOSSES", gameData.getGlobalStats().getLosses());
+        kitStatsDoc.put("GLOBAL_WIN_STREAK_CURRENT", gameData.getGlobalStats().getCurrentStreak());
+    }
+
+    private DataDocument toSettingsDocument() {
         DataDocument settingsDoc = new DataDocument();
 
         settingsDoc.put("showPlayers", settingData.isPlayerVisibility());
@@ -166,9 +274,7 @@ public class Profile {
         settingsDoc.put("menuSound", settingData.isMenuSound());
         settingsDoc.put("deathMessagePackage", settingData.getKillMessagePackage().getName());
 
-        dataDocument.put("settings", settingsDoc);
-
-        DatabaseService.get().getDatabase().replace(playerUUID, dataDocument);
+        return settingsDoc;
     }
 
     public void sendDuel(DuelRequest duelRequest) {
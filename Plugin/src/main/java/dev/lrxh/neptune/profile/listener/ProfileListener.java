@@ -7,6 +7,7 @@ import dev.lrxh.neptune.feature.hotbar.HotbarService;
 import dev.lrxh.neptune.game.match.Match;
 import dev.lrxh.neptune.game.match.impl.participant.Participant;
 import dev.lrxh.neptune.profile.ProfileService;
+import dev.lrxh.neptune.profile.VisibilityService;
 import dev.lrxh.neptune.profile.data.ProfileState;
 import dev.lrxh.neptune.profile.impl.Profile;
 import dev.lrxh.neptune.providers.clickable.Replacement;
@@ -16,8 +17,10 @@ import dev.lrxh.neptune.utils.ServerUtils;
 import net.kyori.adventure.text.Component;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.InventoryCloseEvent;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerLoginEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
@@ -26,12 +29,26 @@ import java.util.Arrays;
 
 public class ProfileListener implements Listener {
 
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onAsyncPreLogin(AsyncPlayerPreLoginEvent event) {
+        if (event.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) return;
+
+        ProfileService.get().preload(event.getUniqueId());
+    }
+
     @EventHandler
     public void onPreJoin(PlayerLoginEvent event) {
         if (!Neptune.get().isAllowJoin())
             event.disallow(PlayerLoginEvent.Result.KICK_OTHER, Component.text(CC.color("&cDatabasing updating...")));
     }
 
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onLoginDenied(PlayerLoginEvent event) {
+        if (event.getResult() != PlayerLoginEvent.Result.ALLOWED) {
+            ProfileService.get().discardPreload(event.getPlayer().getUniqueId());
+        }
+    }
+
     @EventHandler
     public void onJoin(PlayerJoinEvent event) {
         Player player = event.getPlayer();
@@ -42,6 +59,8 @@ public class ProfileListener implements Listener {
 
         Profile profile = ProfileService.get().getByUUID(player.getUniqueId());
         if (profile == null) ProfileService.get().createProfile(player);
+        else ProfileService.get().discardPreload(player.getUniqueId());
+        VisibilityService.get().update(player.getUniqueId());
 
         PlayerUtil.teleportToSpawn(player.getUniqueId());
 
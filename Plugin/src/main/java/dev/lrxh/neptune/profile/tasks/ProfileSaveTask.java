@@ -0,0 +1,11 @@
+package dev.lrxh.neptune.profile.tasks;
+
+import dev.lrxh.neptune.profile.ProfileSaveService;
+import dev.lrxh.neptune.utils.tasks.NeptuneRunnable;
+
+public class ProfileSaveTask extends NeptuneRunnable {
+    @Override
+    public void run() {
+        ProfileSaveService.get().flush();
+    }
+}
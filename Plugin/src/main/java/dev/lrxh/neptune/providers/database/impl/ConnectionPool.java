@@ -0,0 +1,185 @@
+package dev.lrxh.neptune.providers.database.impl;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fixed size pool of JDBC connections, every connection caches its prepared statements
+ * and is validated before use when it has been idle for a while.
+ */
+public class ConnectionPool {
+    private static final long BORROW_TIMEOUT = 10_000L;
+    private static final long VALIDATE_AFTER = 30_000L;
+    private static final int VALIDATE_TIMEOUT = 2;
+    private final String url;
+    private final Initializer initializer;
+    private final List<PooledConnection> connections = new ArrayList<>();
+    private final BlockingQueue<PooledConnection> idle;
+
+    public ConnectionPool(String url, int size, Initializer initializer) throws SQLException {
+        this.url = url;
+        this.initializer = initializer;
+        this.idle = new ArrayBlockingQueue<>(Math.max(1, size));
+
+        for (int i = 0; i < Math.max(1, size); i++) {
+            PooledConnection connection = new PooledConnection();
+            connection.connect();
+            connections.add(connection);
+            idle.add(connection);
+        }
+    }
+
+    /**
+     * Run a function with a pooled connection, the call is retried once on a fresh
+     * connection if it failed because the connection was lost.
+     *
+     * @param function Function to run
+     * @return Result of the function
+     */
+    public <T> T execute(SQLFunction<T> function) throws SQLException {
+        PooledConnection connection = borrow();
+        try {
+            return function.apply(connection);
+        } catch (SQLException e) {
+            if (connection.isValid()) throw e;
+
+            connection.connect();
+            return function.apply(connection);
+        } finally {
+            idle.offer(connection);
+        }
+    }
+
+    /**
+     * Run a function with a pooled connection without retrying it,
+     * for functions with side effects that must not be repeated.
+     *
+     * @param function Function to run
+     * @return Result of the function
+     */
+    public <T> T executeOnce(SQLFunction<T> function) throws SQLException {
+        PooledConnection connection = borrow();
+        try {
+            return function.apply(connection);
+        } finally {
+            idle.offer(connection);
+        }
+    }
+
+    private PooledConnection borrow() throws SQLException {
+        PooledConnection connection;
+        try {
+            connection = idle.poll(BORROW_TIMEOUT, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a connection");
+        }
+
+        if (connection == null) throw new SQLException("Timed out waiting for a connection");
+
+        try {
+            if (System.currentTimeMillis() - connection.lastUsed > VALIDATE_AFTER && !connection.isValid()) {
+                connection.connect();
+            }
+        } catch (SQLException e) {
+            idle.offer(connection);
+            throw e;
+        }
+
+        connection.lastUsed = System.currentTimeMillis();
+        return connection;
+    }
+
+    public int getSize() {
+        return connections.size();
+    }
+
+    public int getIdle() {
+        return idle.size();
+    }
+
+    public void close() {
+        for (PooledConnection connection : connections) {
+            connection.close();
+        }
+    }
+
+    @FunctionalInterface
+    public interface Initializer {
+        void initialize(Connection connection) throws SQLException;
+    }
+
+    @FunctionalInterface
+    public interface SQLFunction<T> {
+        T apply(PooledConnection connection) throws SQLException;
+    }
+
+    public class PooledConnection {
+        private final Map<String, PreparedStatement> statements = new HashMap<>();
+        private Connection connection;
+        private long lastUsed;
+
+        private void connect() throws SQLException {
+            close();
+            connection = DriverManager.getConnection(url);
+            initializer.initialize(connection);
+            lastUsed = System.currentTimeMillis();
+        }
+
+        private boolean isValid() {
+            try {
+                return connection != null && connection.isValid(VALIDATE_TIMEOUT);
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        /**
+         * Get a cached statement for a query, parameters of previous uses are cleared.
+         *
+         * @param sql Query of the statement
+         * @return Prepared statement, must not be closed by the caller
+         */
+        public PreparedStatement prepare(String sql) throws SQLException {
+            PreparedStatement statement = statements.get(sql);
+            if (statement == null || statement.isClosed()) {
+                statement = connection.prepareStatement(sql);
+                statements.put(sql, statement);
+            } else {
+                statement.clearParameters();
+            }
+
+            return statement;
+        }
+
+        public Connection getConnection() {
+            return connection;
+        }
+
+        private void close() {
+            for (PreparedStatement statement : statements.values()) {
+                try {
+                    statement.close();
+                } catch (SQLException ignored) {
+                }
+            }
+            statements.clear();
+
+            if (connection == null) return;
+            try {
+                connection.close();
+            } catch (SQLException ignored) {
+            }
+            connection = null;
+        }
+    }
+}
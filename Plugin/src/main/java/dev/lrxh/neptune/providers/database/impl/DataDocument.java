@@ -4,9 +4,12 @@ import com.google.gson.JsonParseException;
 import dev.lrxh.neptune.utils.ServerUtils;
 import org.bson.Document;
 
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 public class DataDocument {
     public Map<String, Object> data;
@@ -103,4 +106,40 @@ public class DataDocument {
     public void put(String key, Object value) {
         this.data.put(key, value);
     }
+
+    /**
+     * Copy the fields of another document into this one, nested documents are merged
+     * instead of replaced so a partial document can be applied on top of a full one.
+     *
+     * @param other Document to apply
+     * @return This document
+     */
+    public DataDocument merge(DataDocument other) {
+        for (Map.Entry<String, Object> entry : other.data.entrySet()) {
+            Object value = entry.getValue();
+            if (value instanceof DataDocument document) {
+                if (data.get(entry.getKey()) instanceof DataDocument current) {
+                    current.merge(document);
+                } else {
+                    data.put(entry.getKey(), new DataDocument().merge(document));
+                }
+            } else {
+                data.put(entry.getKey(), value);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Drop every top level field except the given ones and the uuid.
+     *
+     * @param keys Fields to keep, nothing is dropped if empty
+     */
+    public void retain(String... keys) {
+        if (keys.length == 0) return;
+
+        Set<String> retained = new HashSet<>(Arrays.asList(keys));
+        retained.add("uuid");
+        data.keySet().retainAll(retained);
+    }
 }
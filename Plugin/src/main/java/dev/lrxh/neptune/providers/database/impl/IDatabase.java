@@ -1,9 +1,16 @@
 package dev.lrxh.neptune.providers.database.impl;
 
 import dev.lrxh.neptune.configs.impl.SettingsLocale;
+import dev.lrxh.neptune.game.leaderboard.impl.LeaderboardType;
+import dev.lrxh.neptune.game.leaderboard.impl.PlayerEntry;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface IDatabase {
     String uri = SettingsLocale.URI.getString();
@@ -17,5 +24,90 @@ public interface IDatabase {
 
     void replace(String playerUUID, DataDocument newDocument);
 
-    List<DataDocument> getAll();
+    /**
+     * Replace several documents at once, implementations can write them as one batch.
+     *
+     * @param documents Documents by player UUID
+     */
+    default void replace(Map<UUID, DataDocument> documents) {
+        for (Map.Entry<UUID, DataDocument> entry : documents.entrySet()) {
+            replace(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Whether {@link #update} writes only the given fields instead of rewriting the whole document.
+     */
+    default boolean hasPartialUpdates() {
+        return false;
+    }
+
+    /**
+     * Apply changed fields to a stored document, the changes have the same layout
+     * as a full document but only contain what changed.
+     *
+     * @param playerUUID UUID of the player
+     * @param changes    Changed fields
+     * @return false if nothing is stored for the player yet, the changes were not written then
+     */
+    default boolean update(UUID playerUUID, DataDocument changes) {
+        DataDocument document = getUserData(playerUUID);
+        if (document == null) return false;
+
+        replace(playerUUID, document.merge(changes));
+        return true;
+    }
+
+    /**
+     * Walk over every stored document without holding them all in memory,
+     * the consumer must not call back into the database.
+     *
+     * @param consumer Called for every document
+     * @param fields   Top level fields to load, all fields if empty
+     */
+    void forEach(Consumer<DataDocument> consumer, String... fields);
+
+    default List<DataDocument> getAll() {
+        List<DataDocument> allDocuments = new ArrayList<>();
+        forEach(allDocuments::add);
+        return allDocuments;
+    }
+
+    default int getFetchSize() {
+        return Math.max(1, SettingsLocale.DATABASE_FETCH_SIZE.getInt());
+    }
+
+    /**
+     * Whether {@link #getTop} is answered by the database instead of scanning every document.
+     */
+    default boolean hasRankedQueries() {
+        return false;
+    }
+
+    /**
+     * Get the highest entries of a kit for a leaderboard type.
+     *
+     * @param kit   Name of the kit
+     * @param type  Leaderboard type to sort by
+     * @param limit Maximum amount of entries
+     * @return Entries sorted from highest to lowest value
+     */
+    default List<PlayerEntry> getTop(String kit, LeaderboardType type, int limit) {
+        PriorityQueue<PlayerEntry> lowest = new PriorityQueue<>(Comparator.comparingInt(PlayerEntry::getValue));
+        forEach(document -> {
+            Object kitDocument = document.getDataDocument("kitData").data.get(kit);
+            if (!(kitDocument instanceof DataDocument)) return;
+
+            lowest.add(new PlayerEntry(document.getString("username"), UUID.fromString(document.getString("uuid")),
+                    ((DataDocument) kitDocument).getInteger(type.getField(), 0)));
+            if (lowest.size() > limit) lowest.poll();
+        }, "username", "kitData");
+
+        List<PlayerEntry> entries = new ArrayList<>(lowest);
+        entries.sort(Comparator.comparingInt(PlayerEntry::getValue).reversed());
+        return entries;
+    }
+
+    default void close() {
+    }
 }
@@ -1,19 +1,31 @@
 package dev.lrxh.neptune.providers.database.impl;
 
+import com.mongodb.client.FindIterable;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoClients;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoCursor;
 import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.Projections;
 import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.Sorts;
+import dev.lrxh.neptune.game.leaderboard.impl.LeaderboardType;
+import dev.lrxh.neptune.game.leaderboard.impl.PlayerEntry;
 import dev.lrxh.neptune.utils.ServerUtils;
 import org.bson.Document;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 public class MongoDatabase implements IDatabase {
+    private final Set<String> indexed = ConcurrentHashMap.newKeySet();
     public MongoCollection<Document> collection;
 
     @Override
@@ -48,16 +60,72 @@ public class MongoDatabase implements IDatabase {
     }
 
     @Override
-    public List<DataDocument> getAll() {
-        List<DataDocument> allDocuments = new ArrayList<>();
-        try (MongoCursor<Document> cursor = collection.find().iterator()) {
+    public boolean hasPartialUpdates() {
+        return true;
+    }
+
+    @Override
+    public boolean update(UUID playerUUID, DataDocument changes) {
+        Document set = new Document();
+        flatten("", changes, set);
+        if (set.isEmpty()) return true;
+
+        // No upsert, a document holding only the changed fields would be missing everything else
+        return collection.updateOne(Filters.eq("uuid", playerUUID.toString()), new Document("$set", set)).getMatchedCount() > 0;
+    }
+
+    private void flatten(String prefix, DataDocument document, Document set) {
+        for (Map.Entry<String, Object> entry : document.data.entrySet()) {
+            if (entry.getValue() instanceof DataDocument nested) {
+                flatten(prefix + entry.getKey() + ".", nested, set);
+            } else {
+                set.put(prefix + entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    @Override
+    public void forEach(Consumer<DataDocument> consumer, String... fields) {
+        FindIterable<Document> documents = collection.find().batchSize(getFetchSize());
+        if (fields.length > 0) {
+            List<String> included = new ArrayList<>(Arrays.asList(fields));
+            included.add("uuid");
+            documents = documents.projection(Projections.include(included));
+        }
+
+        try (MongoCursor<Document> cursor = documents.iterator()) {
             while (cursor.hasNext()) {
-                Document document = cursor.next();
-                allDocuments.add(new DataDocument(document));
+                consumer.accept(new DataDocument(cursor.next()));
             }
         } catch (Exception e) {
             ServerUtils.error("Error retrieving documents from MongoDB: " + e.getMessage());
         }
-        return allDocuments;
+    }
+
+    @Override
+    public boolean hasRankedQueries() {
+        return true;
+    }
+
+    @Override
+    public List<PlayerEntry> getTop(String kit, LeaderboardType type, int limit) {
+        List<PlayerEntry> entries = new ArrayList<>();
+        String path = "kitData." + kit + "." + type.getField();
+
+        try {
+            if (indexed.add(path)) collection.createIndex(Indexes.descending(path));
+
+            for (Document document : collection.find(Filters.exists(path))
+                    .sort(Sorts.descending(path))
+                    .limit(limit)
+                    .projection(Projections.include("uuid", "username", path))) {
+                Document kitDocument = document.get("kitData", Document.class).get(kit, Document.class);
+                entries.add(new PlayerEntry(document.getString("username"), UUID.fromString(document.getString("uuid")),
+                        kitDocument.getInteger(type.getField(), 0)));
+            }
+        } catch (Exception e) {
+            ServerUtils.error("Error retrieving top " + type.getName() + " of " + kit + " from MongoDB: " + e.getMessage());
+        }
+        return entries;
     }
 }
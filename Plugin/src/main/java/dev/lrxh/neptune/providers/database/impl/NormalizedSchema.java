@@ -0,0 +1,533 @@
+package dev.lrxh.neptune.providers.database.impl;
+
+import dev.lrxh.neptune.game.leaderboard.impl.LeaderboardType;
+import dev.lrxh.neptune.game.leaderboard.impl.PlayerEntry;
+import dev.lrxh.neptune.utils.ServerUtils;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Stores profiles as one row per player, kit, loadout and history entry instead of a JSON blob,
+ * documents are split and rebuilt here so the rest of the plugin keeps using {@link DataDocument}.
+ */
+public class NormalizedSchema {
+    private static final String[] TABLES = {
+            "CREATE TABLE IF NOT EXISTS neptune_meta (" +
+                    "meta_key VARCHAR(64) NOT NULL, " +
+                    "meta_value VARCHAR(255) NOT NULL, " +
+                    "PRIMARY KEY (meta_key))",
+            "CREATE TABLE IF NOT EXISTS players (" +
+                    "uuid VARCHAR(36) NOT NULL, " +
+                    "username VARCHAR(16), " +
+                    "last_played_kit VARCHAR(64), " +
+                    "global_wins INT NOT NULL DEFAULT 0, " +
+                    "global_losses INT NOT NULL DEFAULT 0, " +
+                    "global_streak INT NOT NULL DEFAULT 0, " +
+                    "PRIMARY KEY (uuid))",
+            "CREATE TABLE IF NOT EXISTS kit_stats (" +
+                    "uuid VARCHAR(36) NOT NULL, " +
+                    "kit VARCHAR(64) NOT NULL, " +
+                    "wins INT NOT NULL DEFAULT 0, " +
+                    "losses INT NOT NULL DEFAULT 0, " +
+                    "current_streak INT NOT NULL DEFAULT 0, " +
+                    "best_streak INT NOT NULL DEFAULT 0, " +
+                    "division VARCHAR(64), " +
+                    "PRIMARY KEY (uuid, kit))",
+            "CREATE TABLE IF NOT EXISTS kit_loadouts (" +
+                    "uuid VARCHAR(36) NOT NULL, " +
+                    "kit VARCHAR(64) NOT NULL, " +
+                    "loadout TEXT NOT NULL, " +
+                    "PRIMARY KEY (uuid, kit))",
+            "CREATE TABLE IF NOT EXISTS player_settings (" +
+                    "uuid VARCHAR(36) NOT NULL, " +
+                    "show_players BOOLEAN NOT NULL, " +
+                    "allow_spectators BOOLEAN NOT NULL, " +
+                    "allow_duels BOOLEAN NOT NULL, " +
+                    "allow_party BOOLEAN NOT NULL, " +
+                    "max_ping INT NOT NULL, " +
+                    "kill_effect VARCHAR(64), " +
+                    "menu_sound BOOLEAN NOT NULL, " +
+                    "death_message_package VARCHAR(64), " +
+                    "PRIMARY KEY (uuid))",
+            "CREATE TABLE IF NOT EXISTS match_history (" +
+                    "uuid VARCHAR(36) NOT NULL, " +
+                    "position INT NOT NULL, " +
+                    "entry TEXT NOT NULL, " +
+                    "PRIMARY KEY (uuid, position))"
+    };
+    private static final String[][] INDEXES = {
+            {"idx_kit_stats_wins", "CREATE INDEX idx_kit_stats_wins ON kit_stats (kit, wins)"},
+            {"idx_kit_stats_best_streak", "CREATE INDEX idx_kit_stats_best_streak ON kit_stats (kit, best_streak)"},
+            {"idx_kit_stats_losses", "CREATE INDEX idx_kit_stats_losses ON kit_stats (kit, losses)"}
+    };
+    private static final String MIGRATED_KEY = "player_data_migrated";
+
+    private static final String REPLACE_PLAYER = "REPLACE INTO players (uuid, username, last_played_kit, global_wins, global_losses, global_streak) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String REPLACE_KIT_STATS = "REPLACE INTO kit_stats (uuid, kit, wins, losses, current_streak, best_streak, division) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String REPLACE_LOADOUT = "REPLACE INTO kit_loadouts (uuid, kit, loadout) VALUES (?, ?, ?)";
+    private static final String REPLACE_SETTINGS = "REPLACE INTO player_settings (uuid, show_players, allow_spectators, allow_duels, allow_party, max_ping, kill_effect, menu_sound, death_message_package) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String DELETE_HISTORY = "DELETE FROM match_history WHERE uuid=?";
+    private static final String INSERT_HISTORY = "INSERT INTO match_history (uuid, position, entry) VALUES (?, ?, ?)";
+
+    private static final String SELECT_PLAYER = "SELECT * FROM players WHERE uuid=?";
+    private static final String SELECT_PLAYER_EXISTS = "SELECT 1 FROM players WHERE uuid=?";
+    private static final String SELECT_KIT_STATS = "SELECT * FROM kit_stats WHERE uuid=?";
+    private static final String SELECT_LOADOUTS = "SELECT * FROM kit_loadouts WHERE uuid=?";
+    private static final String SELECT_SETTINGS = "SELECT * FROM player_settings WHERE uuid=?";
+    private static final String SELECT_HISTORY = "SELECT * FROM match_history WHERE uuid=? ORDER BY position";
+
+    public void create(ConnectionPool.PooledConnection connection) throws SQLException {
+        try (Statement statement = connection.getConnection().createStatement()) {
+            for (String table : TABLES) {
+                statement.execute(table);
+            }
+        }
+
+        // MySQL has no CREATE INDEX IF NOT EXISTS, check the existing ones instead
+        Set<String> existing = new HashSet<>();
+        try (ResultSet resultSet = connection.getConnection().getMetaData().getIndexInfo(null, null, "kit_stats", false, false)) {
+            while (resultSet.next()) {
+                String name = resultSet.getString("INDEX_NAME");
+                if (name != null) existing.add(name.toLowerCase());
+            }
+        }
+
+        try (Statement statement = connection.getConnection().createStatement()) {
+            for (String[] index : INDEXES) {
+                if (!existing.contains(index[0])) statement.execute(index[1]);
+            }
+        }
+    }
+
+    public List<PlayerEntry> top(ConnectionPool.PooledConnection connection, String kit, LeaderboardType type, int limit) throws SQLException {
+        PreparedStatement statement = connection.prepare("SELECT k.uuid, p.username, k." + type.getColumn() + " AS value " +
+                "FROM kit_stats k JOIN players p ON p.uuid = k.uuid " +
+                "WHERE k.kit=? ORDER BY k." + type.getColumn() + " DESC LIMIT ?");
+        statement.setString(1, kit);
+        statement.setInt(2, limit);
+
+        List<PlayerEntry> entries = new ArrayList<>();
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                entries.add(new PlayerEntry(resultSet.getString("username"), UUID.fromString(resultSet.getString("uuid")), resultSet.getInt("value")));
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Copy every row of the old playerData table into the normalized tables, only runs once
+     * unless {@link #invalidate} cleared the marker.
+     *
+     * @param database Database the rows are read from
+     * @param pageSize Amount of rows copied per transaction
+     */
+    public void migrate(ConnectionPool.PooledConnection connection, SQLDatabase database, int pageSize) throws SQLException {
+        PreparedStatement select = connection.prepare("SELECT meta_value FROM neptune_meta WHERE meta_key=?");
+        select.setString(1, MIGRATED_KEY);
+        try (ResultSet resultSet = select.executeQuery()) {
+            if (resultSet.next()) return;
+        }
+
+        long start = System.currentTimeMillis();
+        int migrated = 0;
+        String after = "";
+        PreparedStatement page = connection.prepare("SELECT uuid, data FROM playerData WHERE uuid > ? ORDER BY uuid LIMIT ?");
+
+        // Paged by key so the old table never has to fit in memory at once
+        while (true) {
+            Map<String, DataDocument> documents = new LinkedHashMap<>();
+            int rows = 0;
+            page.setString(1, after);
+            page.setInt(2, pageSize);
+            try (ResultSet resultSet = page.executeQuery()) {
+                while (resultSet.next()) {
+                    rows++;
+                    after = resultSet.getString("uuid");
+                    String data = resultSet.getString("data");
+                    if (!database.isValidJSON(data)) {
+                        ServerUtils.error("Skipping invalid JSON while migrating " + after);
+                        continue;
+                    }
+                    documents.put(after, new DataDocument(data));
+                }
+            }
+
+            write(connection, documents);
+            migrated += documents.size();
+
+            if (rows < pageSize) break;
+        }
+
+        PreparedStatement insert = connection.prepare("REPLACE INTO neptune_meta (meta_key, meta_value) VALUES (?, ?)");
+        insert.setString(1, MIGRATED_KEY);
+        insert.setString(2, String.valueOf(System.currentTimeMillis()));
+        insert.executeUpdate();
+
+        ServerUtils.info("Migrated " + migrated + " profiles to the normalized schema in " + (System.currentTimeMillis() - start) + "ms");
+    }
+
+    /**
+     * Forget a previous migration while profiles are stored as JSON blobs, the normalized tables
+     * miss every write made meanwhile so they are migrated again once the schema is turned back on.
+     */
+    public static void invalidate(ConnectionPool.PooledConnection connection) throws SQLException {
+        try (ResultSet resultSet = connection.getConnection().getMetaData().getTables(null, null, "neptune_meta", null)) {
+            if (!resultSet.next()) return;
+        }
+
+        PreparedStatement delete = connection.prepare("DELETE FROM neptune_meta WHERE meta_key=?");
+        delete.setString(1, MIGRATED_KEY);
+        delete.executeUpdate();
+    }
+
+    /**
+     * Write several documents in one transaction.
+     *
+     * @param documents Documents by player UUID
+     */
+    public void write(ConnectionPool.PooledConnection connection, Map<String, DataDocument> documents) throws SQLException {
+        if (documents.isEmpty()) return;
+
+        Connection sql = connection.getConnection();
+        sql.setAutoCommit(false);
+        try {
+            PreparedStatement players = connection.prepare(REPLACE_PLAYER);
+            PreparedStatement kitStats = connection.prepare(REPLACE_KIT_STATS);
+            PreparedStatement loadouts = connection.prepare(REPLACE_LOADOUT);
+            PreparedStatement settings = connection.prepare(REPLACE_SETTINGS);
+            PreparedStatement deleteHistory = connection.prepare(DELETE_HISTORY);
+            PreparedStatement history = connection.prepare(INSERT_HISTORY);
+
+            for (Map.Entry<String, DataDocument> entry : documents.entrySet()) {
+                addBatch(entry.getKey(), entry.getValue(), players, kitStats, loadouts, settings, deleteHistory, history);
+            }
+
+            players.executeBatch();
+            kitStats.executeBatch();
+            loadouts.executeBatch();
+            settings.executeBatch();
+            deleteHistory.executeBatch();
+            history.executeBatch();
+            sql.commit();
+        } catch (SQLException e) {
+            sql.rollback();
+            throw e;
+        } finally {
+            sql.setAutoCommit(true);
+        }
+    }
+
+    private void addBatch(String uuid, DataDocument document, PreparedStatement players, PreparedStatement kitStats,
+                          PreparedStatement loadouts, PreparedStatement settings, PreparedStatement deleteHistory,
+                          PreparedStatement history) throws SQLException {
+        DataDocument kitData = document.getDataDocument("kitData");
+
+        players.setString(1, uuid);
+        players.setString(2, document.getString("username"));
+        players.setString(3, kitData.getString("lastPlayedKit", ""));
+        players.setInt(4, kitData.getInteger("GLOBAL_WINS", 0));
+        players.setInt(5, kitData.getInteger("GLOBAL_LOSSES", 0));
+        players.setInt(6, kitData.getInteger("GLOBAL_WIN_STREAK_CURRENT", 0));
+        players.addBatch();
+
+        for (Map.Entry<String, Object> entry : kitData.data.entrySet()) {
+            if (!(entry.getValue() instanceof DataDocument kitDocument)) continue;
+
+            bindKitStats(kitStats, uuid, entry.getKey(), kitDocument);
+            bindLoadout(loadouts, uuid, entry.getKey(), kitDocument);
+        }
+
+        bindSettings(settings, uuid, document.getDataDocument("settings"));
+        bindHistory(deleteHistory, history, uuid, document.getList("history", new ArrayList<>()));
+    }
+
+    /**
+     * Write only the rows and columns present in a partial document.
+     *
+     * @param changes Changed fields, laid out like a full document
+     */
+    public boolean update(ConnectionPool.PooledConnection connection, String uuid, DataDocument changes) throws SQLException {
+        PreparedStatement exists = connection.prepare(SELECT_PLAYER_EXISTS);
+        exists.setString(1, uuid);
+        try (ResultSet resultSet = exists.executeQuery()) {
+            // Changes only make sense on top of a full write, the caller has to write everything instead
+            if (!resultSet.next()) return false;
+        }
+
+        Connection sql = connection.getConnection();
+        sql.setAutoCommit(false);
+        try {
+            List<String> columns = new ArrayList<>();
+            List<Object> values = new ArrayList<>();
+            Object kitDataValue = changes.data.get("kitData");
+            DataDocument kitData = kitDataValue instanceof DataDocument document ? document : new DataDocument();
+
+            addColumn(changes, "username", "username", columns, values);
+            addColumn(kitData, "lastPlayedKit", "last_played_kit", columns, values);
+            addColumn(kitData, "GLOBAL_WINS", "global_wins", columns, values);
+            addColumn(kitData, "GLOBAL_LOSSES", "global_losses", columns, values);
+            addColumn(kitData, "GLOBAL_WIN_STREAK_CURRENT", "global_streak", columns, values);
+
+            if (!columns.isEmpty()) {
+                PreparedStatement players = connection.prepare("UPDATE players SET " + String.join("=?, ", columns) + "=? WHERE uuid=?");
+                for (int i = 0; i < values.size(); i++) {
+                    players.setObject(i + 1, values.get(i));
+                }
+                players.setString(values.size() + 1, uuid);
+                players.executeUpdate();
+            }
+
+            for (Map.Entry<String, Object> entry : kitData.data.entrySet()) {
+                if (!(entry.getValue() instanceof DataDocument kitDocument)) continue;
+
+                if (kitDocument.data.containsKey("WINS")) {
+                    PreparedStatement kitStats = connection.prepare(REPLACE_KIT_STATS);
+                    bindKitStats(kitStats, uuid, entry.getKey(), kitDocument);
+                    kitStats.executeBatch();
+                }
+                if (kitDocument.data.containsKey("kit")) {
+                    PreparedStatement loadouts = connection.prepare(REPLACE_LOADOUT);
+                    bindLoadout(loadouts, uuid, entry.getKey(), kitDocument);
+                    loadouts.executeBatch();
+                }
+            }
+
+            if (changes.data.get("settings") instanceof DataDocument settingsDocument) {
+                PreparedStatement settings = connection.prepare(REPLACE_SETTINGS);
+                bindSettings(settings, uuid, settingsDocument);
+                settings.executeBatch();
+            }
+
+            if (changes.data.containsKey("history")) {
+                PreparedStatement deleteHistory = connection.prepare(DELETE_HISTORY);
+                PreparedStatement history = connection.prepare(INSERT_HISTORY);
+                bindHistory(deleteHistory, history, uuid, changes.getList("history", new ArrayList<>()));
+                deleteHistory.executeBatch();
+                history.executeBatch();
+            }
+
+            sql.commit();
+            return true;
+        } catch (SQLException e) {
+            sql.rollback();
+            throw e;
+        } finally {
+            sql.setAutoCommit(true);
+        }
+    }
+
+    private void addColumn(DataDocument document, String key, String column, List<String> columns, List<Object> values) {
+        if (!document.data.containsKey(key)) return;
+
+        columns.add(column);
+        values.add(document.data.get(key));
+    }
+
+    private void bindKitStats(PreparedStatement kitStats, String uuid, String kit, DataDocument kitDocument) throws SQLException {
+        kitStats.setString(1, uuid);
+        kitStats.setString(2, kit);
+        kitStats.setInt(3, kitDocument.getInteger("WINS", 0));
+        kitStats.setInt(4, kitDocument.getInteger("LOSSES", 0));
+        kitStats.setInt(5, kitDocument.getInteger("WIN_STREAK_CURRENT", 0));
+        kitStats.setInt(6, kitDocument.getInteger("WIN_STREAK_BEST", 0));
+        kitStats.setString(7, kitDocument.getString("DIVISION", null));
+        kitStats.addBatch();
+    }
+
+    private void bindLoadout(PreparedStatement loadouts, String uuid, String kit, DataDocument kitDocument) throws SQLException {
+        loadouts.setString(1, uuid);
+        loadouts.setString(2, kit);
+        loadouts.setString(3, kitDocument.getString("kit", ""));
+        loadouts.addBatch();
+    }
+
+    private void bindSettings(PreparedStatement settings, String uuid, DataDocument settingsDocument) throws SQLException {
+        settings.setString(1, uuid);
+        settings.setBoolean(2, settingsDocument.getBoolean("showPlayers", true));
+        settings.setBoolean(3, settingsDocument.getBoolean("allowSpectators", true));
+        settings.setBoolean(4, settingsDocument.getBoolean("allowDuels", true));
+        settings.setBoolean(5, settingsDocument.getBoolean("allowParty", true));
+        settings.setInt(6, settingsDocument.getInteger("maxPing", 350));
+        settings.setString(7, settingsDocument.getString("killEffect", "NONE"));
+        settings.setBoolean(8, settingsDocument.getBoolean("menuSound", false));
+        settings.setString(9, settingsDocument.getString("deathMessagePackage"));
+        settings.addBatch();
+    }
+
+    private void bindHistory(PreparedStatement deleteHistory, PreparedStatement history, String uuid, List<String> entries) throws SQLException {
+        deleteHistory.setString(1, uuid);
+        deleteHistory.addBatch();
+
+        for (int i = 0; i < entries.size(); i++) {
+            history.setString(1, uuid);
+            history.setInt(2, i);
+            history.setString(3, entries.get(i));
+            history.addBatch();
+        }
+    }
+
+    public DataDocument read(ConnectionPool.PooledConnection connection, String uuid) throws SQLException {
+        DataDocument document;
+
+        PreparedStatement players = connection.prepare(SELECT_PLAYER);
+        players.setString(1, uuid);
+        try (ResultSet resultSet = players.executeQuery()) {
+            if (!resultSet.next()) return null;
+            document = readPlayer(resultSet);
+        }
+
+        PreparedStatement kitStats = connection.prepare(SELECT_KIT_STATS);
+        kitStats.setString(1, uuid);
+        try (ResultSet resultSet = kitStats.executeQuery()) {
+            while (resultSet.next()) readKitStats(document, resultSet);
+        }
+
+        PreparedStatement loadouts = connection.prepare(SELECT_LOADOUTS);
+        loadouts.setString(1, uuid);
+        try (ResultSet resultSet = loadouts.executeQuery()) {
+            while (resultSet.next()) readLoadout(document, resultSet);
+        }
+
+        PreparedStatement settings = connection.prepare(SELECT_SETTINGS);
+        settings.setString(1, uuid);
+        try (ResultSet resultSet = settings.executeQuery()) {
+            if (resultSet.next()) readSettings(document, resultSet);
+        }
+
+        PreparedStatement history = connection.prepare(SELECT_HISTORY);
+        history.setString(1, uuid);
+        try (ResultSet resultSet = history.executeQuery()) {
+            while (resultSet.next()) readHistory(document, resultSet);
+        }
+
+        return document;
+    }
+
+    /**
+     * Rebuild every stored document page by page, each page costs one range query per table.
+     *
+     * @param consumer Called for every document
+     * @param pageSize Amount of players per page
+     * @param fields   Top level fields to keep, all fields if empty
+     */
+    public void stream(ConnectionPool.PooledConnection connection, Consumer<DataDocument> consumer, int pageSize, String... fields) throws SQLException {
+        Set<String> wanted = fields.length == 0 ? null : new HashSet<>(Arrays.asList(fields));
+        boolean kits = wanted == null || wanted.contains("kitData");
+        boolean settings = wanted == null || wanted.contains("settings");
+        boolean history = wanted == null || wanted.contains("history");
+
+        PreparedStatement players = connection.prepare("SELECT * FROM players WHERE uuid > ? ORDER BY uuid LIMIT ?");
+        String after = "";
+
+        while (true) {
+            Map<String, DataDocument> documents = new LinkedHashMap<>();
+            players.setString(1, after);
+            players.setInt(2, Math.max(1, pageSize));
+            try (ResultSet resultSet = players.executeQuery()) {
+                while (resultSet.next()) {
+                    after = resultSet.getString("uuid");
+                    documents.put(after, readPlayer(resultSet));
+                }
+            }
+
+            if (documents.isEmpty()) return;
+
+            String first = documents.keySet().iterator().next();
+            String last = after;
+
+            if (kits) {
+                readRange(connection, "SELECT * FROM kit_stats WHERE uuid >= ? AND uuid <= ?", first, last, documents, this::readKitStats);
+                readRange(connection, "SELECT * FROM kit_loadouts WHERE uuid >= ? AND uuid <= ?", first, last, documents, this::readLoadout);
+            }
+            if (settings) {
+                readRange(connection, "SELECT * FROM player_settings WHERE uuid >= ? AND uuid <= ?", first, last, documents, this::readSettings);
+            }
+            if (history) {
+                readRange(connection, "SELECT * FROM match_history WHERE uuid >= ? AND uuid <= ? ORDER BY uuid, position", first, last, documents, this::readHistory);
+            }
+
+            for (DataDocument document : documents.values()) {
+                document.retain(fields);
+                consumer.accept(document);
+            }
+
+            if (documents.size() < pageSize) return;
+        }
+    }
+
+    private void readRange(ConnectionPool.PooledConnection connection, String sql, String first, String last,
+                           Map<String, DataDocument> documents, RowReader reader) throws SQLException {
+        PreparedStatement statement = connection.prepare(sql);
+        statement.setString(1, first);
+        statement.setString(2, last);
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                DataDocument document = documents.get(resultSet.getString("uuid"));
+                if (document != null) reader.read(document, resultSet);
+            }
+        }
+    }
+
+    private DataDocument readPlayer(ResultSet resultSet) throws SQLException {
+        DataDocument document = new DataDocument();
+        document.put("uuid", resultSet.getString("uuid"));
+        document.put("username", resultSet.getString("username"));
+        document.put("history", new ArrayList<String>());
+
+        DataDocument kitData = document.getDataDocument("kitData");
+        kitData.put("GLOBAL_WINS", resultSet.getInt("global_wins"));
+        kitData.put("GLOBAL_LOSSES", resultSet.getInt("global_losses"));
+        kitData.put("GLOBAL_WIN_STREAK_CURRENT", resultSet.getInt("global_streak"));
+        kitData.put("lastPlayedKit", resultSet.getString("last_played_kit"));
+        return document;
+    }
+
+    private void readKitStats(DataDocument document, ResultSet resultSet) throws SQLException {
+        DataDocument kitDocument = document.getDataDocument("kitData").getDataDocument(resultSet.getString("kit"));
+        kitDocument.put("WINS", resultSet.getInt("wins"));
+        kitDocument.put("LOSSES", resultSet.getInt("losses"));
+        kitDocument.put("WIN_STREAK_CURRENT", resultSet.getInt("current_streak"));
+        kitDocument.put("WIN_STREAK_BEST", resultSet.getInt("best_streak"));
+        kitDocument.put("DIVISION", resultSet.getString("division"));
+    }
+
+    private void readLoadout(DataDocument document, ResultSet resultSet) throws SQLException {
+        document.getDataDocument("kitData").getDataDocument(resultSet.getString("kit")).put("kit", resultSet.getString("loadout"));
+    }
+
+    private void readSettings(DataDocument document, ResultSet resultSet) throws SQLException {
+        DataDocument settings = document.getDataDocument("settings");
+        settings.put("showPlayers", resultSet.getBoolean("show_players"));
+        settings.put("allowSpectators", resultSet.getBoolean("allow_spectators"));
+        settings.put("allowDuels", resultSet.getBoolean("allow_duels"));
+        settings.put("allowParty", resultSet.getBoolean("allow_party"));
+        settings.put("maxPing", resultSet.getInt("max_ping"));
+        settings.put("killEffect", resultSet.getString("kill_effect"));
+        settings.put("menuSound", resultSet.getBoolean("menu_sound"));
+        settings.put("deathMessagePackage", resultSet.getString("death_message_package"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readHistory(DataDocument document, ResultSet resultSet) throws SQLException {
+        ((List<String>) document.data.get("history")).add(resultSet.getString("entry"));
+    }
+
+    @FunctionalInterface
+    private interface RowReader {
+        void read(DataDocument document, ResultSet resultSet) throws SQLException;
+    }
+}
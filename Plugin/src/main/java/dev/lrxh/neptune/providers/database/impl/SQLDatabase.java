@@ -0,0 +1,326 @@
+package dev.lrxh.neptune.providers.database.impl;
+
+import com.google.gson.JsonParseException;
+import dev.lrxh.neptune.Neptune;
+import dev.lrxh.neptune.configs.impl.SettingsLocale;
+import dev.lrxh.neptune.game.leaderboard.impl.LeaderboardType;
+import dev.lrxh.neptune.game.leaderboard.impl.PlayerEntry;
+import dev.lrxh.neptune.utils.ServerUtils;
+import org.bson.Document;
+import org.bukkit.Bukkit;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Shared implementation of the SQL databases, queries run on a pooled connection
+ * so async saves and leaderboard scans don't wait on each other.
+ */
+public abstract class SQLDatabase implements IDatabase {
+    private static final String SELECT_USER = "SELECT data FROM playerData WHERE uuid=?";
+    private static final String SELECT_ALL = "SELECT data FROM playerData";
+    private static final String REPLACE = "REPLACE INTO playerData (uuid, data) VALUES (?, ?)";
+    private static final Pattern FIELD = Pattern.compile("[A-Za-z0-9_]+");
+    protected ConnectionPool pool;
+    private NormalizedSchema normalized;
+    private volatile boolean projecting = true;
+
+    protected abstract String getUrl();
+
+    protected abstract String getName();
+
+    /**
+     * Called for every new connection of the pool.
+     *
+     * @param connection Opened connection
+     */
+    protected void configure(Connection connection) throws SQLException {
+    }
+
+    @Override
+    public IDatabase load() {
+        try {
+            pool = new ConnectionPool(getUrl(), SettingsLocale.DATABASE_POOL_SIZE.getInt(), this::configure);
+            createTableIfNotExists();
+
+            if (SettingsLocale.DATABASE_NORMALIZED.getBoolean()) {
+                NormalizedSchema schema = new NormalizedSchema();
+                pool.execute(connection -> {
+                    schema.create(connection);
+                    schema.migrate(connection, this, getFetchSize());
+                    return null;
+                });
+                normalized = schema;
+            } else {
+                pool.execute(connection -> {
+                    NormalizedSchema.invalidate(connection);
+                    return null;
+                });
+            }
+        } catch (SQLException e) {
+            ServerUtils.error("Failed to connect to " + getName() + " database: " + e.getMessage());
+            Bukkit.getPluginManager().disablePlugin(Neptune.get());
+        }
+        return this;
+    }
+
+    @Override
+    public DataDocument getUserData(UUID playerUUID) {
+        try {
+            if (normalized != null) return pool.execute(connection -> normalized.read(connection, playerUUID.toString()));
+
+            return pool.execute(connection -> {
+                PreparedStatement statement = connection.prepare(SELECT_USER);
+                statement.setString(1, playerUUID.toString());
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    if (!resultSet.next()) return null;
+
+                    String dataString = resultSet.getString("data");
+                    if (isValidJSON(dataString)) {
+                        return new DataDocument(dataString);
+                    }
+                    ServerUtils.error("Invalid JSON data for UUID: " + playerUUID);
+                    return null;
+                }
+            });
+        } catch (SQLException e) {
+            ServerUtils.error("Error fetching user data from " + getName() + ": " + e.getMessage());
+        }
+        return null;
+    }
+
+    @Override
+    public void replace(UUID playerUUID, DataDocument newDocument) {
+        replace(playerUUID.toString(), newDocument);
+    }
+
+    @Override
+    public void replace(String playerUUID, DataDocument newDocument) {
+        try {
+            if (normalized != null) {
+                pool.execute(connection -> {
+                    normalized.write(connection, Map.of(playerUUID, newDocument));
+                    return null;
+                });
+                return;
+            }
+
+            pool.execute(connection -> {
+                PreparedStatement statement = connection.prepare(REPLACE);
+                statement.setString(1, playerUUID);
+                statement.setString(2, newDocument.toDocument().toJson());
+                return statement.executeUpdate();
+            });
+        } catch (SQLException e) {
+            throw new IllegalStateException("Error replacing user data in " + getName() + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void replace(Map<UUID, DataDocument> documents) {
+        if (documents.isEmpty()) return;
+
+        try {
+            if (normalized != null) {
+                Map<String, DataDocument> byUUID = new LinkedHashMap<>();
+                documents.forEach((uuid, document) -> byUUID.put(uuid.toString(), document));
+                pool.execute(connection -> {
+                    normalized.write(connection, byUUID);
+                    return null;
+                });
+                return;
+            }
+
+            pool.execute(connection -> {
+                Connection sql = connection.getConnection();
+                PreparedStatement statement = connection.prepare(REPLACE);
+                sql.setAutoCommit(false);
+                try {
+                    for (Map.Entry<UUID, DataDocument> entry : documents.entrySet()) {
+                        statement.setString(1, entry.getKey().toString());
+                        statement.setString(2, entry.getValue().toDocument().toJson());
+                        statement.addBatch();
+                    }
+                    statement.executeBatch();
+                    sql.commit();
+                } catch (SQLException e) {
+                    sql.rollback();
+                    statement.clearBatch();
+                    throw e;
+                } finally {
+                    sql.setAutoCommit(true);
+                }
+                return null;
+            });
+        } catch (SQLException e) {
+            throw new IllegalStateException("Error replacing user data in " + getName() + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void forEach(Consumer<DataDocument> consumer, String... fields) {
+        try {
+            if (normalized != null) {
+                pool.executeOnce(connection -> {
+                    normalized.stream(connection, consumer, getFetchSize(), fields);
+                    return null;
+                });
+                return;
+            }
+
+            pool.executeOnce(connection -> {
+                try (Statement statement = connection.getConnection().createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                    statement.setFetchSize(getStreamingFetchSize());
+                    try (ResultSet resultSet = scan(statement, fields)) {
+                        while (resultSet.next()) {
+                            String jsonString = resultSet.getString("data");
+                            DataDocument document;
+                            try {
+                                document = new DataDocument(jsonString);
+                            } catch (RuntimeException e) {
+                                continue;
+                            }
+                            document.retain(fields);
+                            consumer.accept(document);
+                        }
+                    }
+                }
+                return null;
+            });
+        } catch (SQLException e) {
+            ServerUtils.error("Error retrieving all documents from " + getName() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Run the full table scan, only the requested fields are read out of the blobs when the database can project them.
+     * Fields are still dropped after parsing, which covers databases without JSON functions.
+     */
+    private ResultSet scan(Statement statement, String... fields) throws SQLException {
+        String projection = fields.length == 0 || !projecting ? null : getProjection(fields);
+        if (projection == null) return statement.executeQuery(SELECT_ALL);
+
+        try {
+            return statement.executeQuery("SELECT " + projection + " AS data FROM playerData");
+        } catch (SQLException e) {
+            // Fails before any row is read, so falling back can't hand a document to the consumer twice
+            projecting = false;
+            ServerUtils.info(getName() + " can't project stored profiles, fields are dropped after parsing instead: " + e.getMessage());
+            return statement.executeQuery(SELECT_ALL);
+        }
+    }
+
+    /**
+     * Select expression building a JSON object of only the given top level fields and the uuid out of the data column.
+     *
+     * @param fields Top level fields to keep
+     * @return the expression, null if the database can't project the blobs itself
+     */
+    protected String getProjection(String... fields) {
+        return null;
+    }
+
+    /**
+     * Build a projection from a JSON object function and an expression extracting one field as JSON.
+     *
+     * @return the projection, null if a field name can't be used in a JSON path
+     */
+    protected String project(String objectFunction, Function<String, String> extract, String... fields) {
+        Set<String> keys = new LinkedHashSet<>();
+        keys.add("uuid");
+        keys.addAll(Arrays.asList(fields));
+
+        StringJoiner projection = new StringJoiner(", ", objectFunction + "(", ")");
+        for (String key : keys) {
+            if (!FIELD.matcher(key).matches()) return null;
+            projection.add("'" + key + "', " + extract.apply("'$." + key + "'"));
+        }
+        return projection.toString();
+    }
+
+    /**
+     * Fetch size hint for full table scans, drivers that ignore it may buffer the whole result.
+     */
+    protected int getStreamingFetchSize() {
+        return getFetchSize();
+    }
+
+    @Override
+    public boolean hasPartialUpdates() {
+        return normalized != null;
+    }
+
+    @Override
+    public boolean update(UUID playerUUID, DataDocument changes) {
+        if (normalized == null) return IDatabase.super.update(playerUUID, changes);
+
+        try {
+            return pool.execute(connection -> normalized.update(connection, playerUUID.toString(), changes));
+        } catch (SQLException e) {
+            throw new IllegalStateException("Error updating user data in " + getName() + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public boolean hasRankedQueries() {
+        return normalized != null;
+    }
+
+    @Override
+    public List<PlayerEntry> getTop(String kit, LeaderboardType type, int limit) {
+        if (normalized == null) return IDatabase.super.getTop(kit, type, limit);
+
+        try {
+            return pool.execute(connection -> normalized.top(connection, kit, type, limit));
+        } catch (SQLException e) {
+            ServerUtils.error("Error retrieving top " + type.getName() + " of " + kit + " from " + getName() + ": " + e.getMessage());
+        }
+        return new ArrayList<>();
+    }
+
+    @Override
+    public void close() {
+        if (pool != null) pool.close();
+    }
+
+    public boolean isValidJSON(String jsonString) {
+        try {
+            Document.parse(jsonString);
+            return true;
+        } catch (JsonParseException e) {
+            return false;
+        }
+    }
+
+    private void createTableIfNotExists() {
+        String createTableQuery = "CREATE TABLE IF NOT EXISTS playerData (" +
+                "uuid VARCHAR(36) NOT NULL, " +
+                "data TEXT NOT NULL, " +
+                "PRIMARY KEY (uuid)" +
+                ")";
+        try {
+            pool.execute(connection -> {
+                try (Statement statement = connection.getConnection().createStatement()) {
+                    return statement.execute(createTableQuery);
+                }
+            });
+        } catch (SQLException e) {
+            ServerUtils.error("Error creating playerData table: " + e.getMessage());
+        }
+    }
+}
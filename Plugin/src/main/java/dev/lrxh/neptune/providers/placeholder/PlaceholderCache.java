@@ -0,0 +1,84 @@
+package dev.lrxh.neptune.providers.placeholder;
+
+import dev.lrxh.neptune.feature.queue.QueueService;
+import dev.lrxh.neptune.game.match.Match;
+import dev.lrxh.neptune.game.match.MatchService;
+import dev.lrxh.neptune.game.match.impl.FfaFightMatch;
+import lombok.Getter;
+import org.bukkit.Bukkit;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Placeholder values that are the same for every viewer, computed at most once per tick.
+ */
+public class PlaceholderCache {
+    private static PlaceholderCache instance;
+    private volatile Snapshot snapshot = new Snapshot(-1);
+
+    public static PlaceholderCache get() {
+        if (instance == null) instance = new PlaceholderCache();
+
+        return instance;
+    }
+
+    public String getOnline() {
+        return snapshot().getOnline();
+    }
+
+    public String getQueued() {
+        return snapshot().getQueued();
+    }
+
+    public String getInMatch() {
+        return snapshot().getInMatch();
+    }
+
+    public MatchValues getMatch(Match match) {
+        return snapshot().matches.computeIfAbsent(match, MatchValues::new);
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        int tick = Bukkit.getCurrentTick();
+        if (current.tick != tick) {
+            current = new Snapshot(tick);
+            snapshot = current;
+        }
+        return current;
+    }
+
+    @Getter
+    private static class Snapshot {
+        private final int tick;
+        private final String online;
+        private final String queued;
+        private final String inMatch;
+        private final Map<Match, MatchValues> matches = new ConcurrentHashMap<>();
+
+        private Snapshot(int tick) {
+            this.tick = tick;
+            this.online = String.valueOf(Bukkit.getServer().getOnlinePlayers().size());
+            this.queued = String.valueOf(QueueService.get().getSize());
+            this.inMatch = String.valueOf(MatchService.get().matches.size());
+        }
+    }
+
+    @Getter
+    public static class MatchValues {
+        private final String time;
+        private final String kit;
+        private final String arena;
+        private final String alive;
+
+        private MatchValues(Match match) {
+            this.time = match.getTime().formatTime();
+            this.kit = match.getKit().getDisplayName();
+            this.arena = match.getArena().getDisplayName();
+            this.alive = match instanceof FfaFightMatch ffaFightMatch
+                    ? String.valueOf(ffaFightMatch.participants.size() - ffaFightMatch.deadParticipants.size())
+                    : null;
+        }
+    }
+}
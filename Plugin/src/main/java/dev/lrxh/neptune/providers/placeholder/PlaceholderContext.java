@@ -0,0 +1,168 @@
+package dev.lrxh.neptune.providers.placeholder;
+
+import dev.lrxh.neptune.feature.party.Party;
+import dev.lrxh.neptune.feature.queue.QueueEntry;
+import dev.lrxh.neptune.feature.queue.QueueService;
+import dev.lrxh.neptune.game.kit.impl.KitRule;
+import dev.lrxh.neptune.game.match.Match;
+import dev.lrxh.neptune.game.match.impl.SoloFightMatch;
+import dev.lrxh.neptune.game.match.impl.participant.Participant;
+import dev.lrxh.neptune.game.match.impl.team.MatchTeam;
+import dev.lrxh.neptune.game.match.impl.team.TeamFightMatch;
+import dev.lrxh.neptune.profile.data.GlobalStats;
+import dev.lrxh.neptune.profile.data.ProfileState;
+import dev.lrxh.neptune.profile.impl.Profile;
+import dev.lrxh.neptune.utils.PlayerUtil;
+import lombok.Getter;
+import org.bukkit.entity.Player;
+
+/**
+ * Everything the placeholders of a player read, captured on the main thread when the context is created.
+ * Resolvers only read these values, so lines can be formatted from a context on any thread.
+ */
+@Getter
+public class PlaceholderContext {
+    /**
+     * Live player and profile, only safe to use on the main thread
+     */
+    private final Player player;
+    private final Profile profile;
+
+    private final String online;
+    private final String queued;
+    private final String inMatch;
+
+    private final String name;
+    private final int ping;
+    private final ProfileState state;
+    private final int wins;
+    private final int losses;
+    private final int currentStreak;
+
+    private final String queueKit;
+    private final int maxPing;
+    private final long queueTime;
+
+    private final String partyLeader;
+    private final int partySize;
+
+    private final PlaceholderCache.MatchValues matchValues;
+    private final boolean bedWars;
+    private final int rounds;
+
+    /**
+     * Set while fighting in a solo match
+     */
+    private final ParticipantValues self;
+    private final ParticipantValues opponent;
+    private final boolean missingParticipant;
+
+    /**
+     * Set while spectating a solo match
+     */
+    private final ParticipantValues red;
+    private final ParticipantValues blue;
+
+    /**
+     * Set while in a team match, team and opponent team when fighting, team A and B when spectating
+     */
+    private final TeamValues team;
+    private final TeamValues opponentTeam;
+    private final boolean teamMatch;
+
+    public PlaceholderContext(Player player, Profile profile) {
+        this.player = player;
+        this.profile = profile;
+
+        PlaceholderCache cache = PlaceholderCache.get();
+        this.online = cache.getOnline();
+        this.queued = cache.getQueued();
+        this.inMatch = cache.getInMatch();
+
+        this.name = player.getName();
+        this.ping = PlayerUtil.getPing(player);
+        this.state = profile.getState();
+        GlobalStats globalStats = profile.getGameData().getGlobalStats();
+        this.wins = globalStats.getWins();
+        this.losses = globalStats.getLosses();
+        this.currentStreak = globalStats.getCurrentStreak();
+
+        QueueEntry queueEntry = is(ProfileState.IN_QUEUE) ? QueueService.get().get(player.getUniqueId()) : null;
+        this.queueKit = queueEntry == null ? null : queueEntry.getKit().getDisplayName();
+        this.maxPing = profile.getSettingData().getMaxPing();
+        this.queueTime = queueEntry == null ? 0 : queueEntry.getTime().getElapsed();
+
+        Party party = is(ProfileState.IN_PARTY) ? profile.getGameData().getParty() : null;
+        this.partyLeader = party == null ? null : party.getLeaderName();
+        this.partySize = party == null ? 0 : party.getUsers().size();
+
+        Match match = profile.getMatch();
+        this.matchValues = match == null ? null : cache.getMatch(match);
+        this.bedWars = match != null && match.getKit().is(KitRule.BED_WARS);
+        this.rounds = match == null ? 0 : match.getRounds();
+
+        Participant participant = match == null ? null : match.getParticipant(player.getUniqueId());
+        boolean soloGame = match instanceof SoloFightMatch && is(ProfileState.IN_GAME);
+        this.missingParticipant = soloGame && participant == null;
+        this.self = soloGame && participant != null ? new ParticipantValues(participant) : null;
+        this.opponent = self != null ? new ParticipantValues(participant.getOpponent()) : null;
+
+        SoloFightMatch soloSpectating = match instanceof SoloFightMatch soloFightMatch && is(ProfileState.IN_SPECTATOR) ? soloFightMatch : null;
+        this.red = soloSpectating == null ? null : new ParticipantValues(soloSpectating.getParticipantA());
+        this.blue = soloSpectating == null ? null : new ParticipantValues(soloSpectating.getParticipantB());
+
+        this.teamMatch = match instanceof TeamFightMatch;
+        if (match instanceof TeamFightMatch teamFightMatch && is(ProfileState.IN_GAME) && participant != null) {
+            MatchTeam matchTeam = teamFightMatch.getParticipantTeam(participant);
+            this.team = new TeamValues(matchTeam);
+            this.opponentTeam = new TeamValues(matchTeam.equals(teamFightMatch.getTeamA()) ? teamFightMatch.getTeamB() : teamFightMatch.getTeamA());
+        } else if (match instanceof TeamFightMatch teamFightMatch && is(ProfileState.IN_SPECTATOR)) {
+            this.team = new TeamValues(teamFightMatch.getTeamA());
+            this.opponentTeam = new TeamValues(teamFightMatch.getTeamB());
+        } else {
+            this.team = null;
+            this.opponentTeam = null;
+        }
+    }
+
+    public boolean is(ProfileState state) {
+        return this.state.equals(state);
+    }
+
+    public boolean isQueued() {
+        return queueKit != null;
+    }
+
+    @Getter
+    public static class ParticipantValues {
+        private final String name;
+        private final int ping;
+        private final int combo;
+        private final int hits;
+        private final int roundsWon;
+        private final boolean bedBroken;
+
+        private ParticipantValues(Participant participant) {
+            Player player = participant.getPlayer();
+            this.name = participant.getNameUnColored();
+            this.ping = player == null ? 0 : PlayerUtil.getPing(player);
+            this.combo = participant.getCombo();
+            this.hits = participant.getHits();
+            this.roundsWon = participant.getRoundsWon();
+            this.bedBroken = participant.isBedBroken();
+        }
+    }
+
+    @Getter
+    public static class TeamValues {
+        private final int alive;
+        private final int size;
+        private final boolean bedDestroyed;
+
+        private TeamValues(MatchTeam team) {
+            this.alive = team.getAliveParticipants();
+            this.size = team.getParticipants().size();
+            this.bedDestroyed = team.isBedDestroyed();
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package dev.lrxh.neptune.providers.placeholder;
+
+public interface PlaceholderResolver {
+    /**
+     * @return the value of the placeholder, or null to leave it untouched
+     */
+    String resolve(PlaceholderContext context);
+
+    default PlaceholderResolver orElse(PlaceholderResolver other) {
+        return context -> {
+            String value = resolve(context);
+            return value != null ? value : other.resolve(context);
+        };
+    }
+}
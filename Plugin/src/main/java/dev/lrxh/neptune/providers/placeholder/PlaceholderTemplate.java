@@ -0,0 +1,72 @@
+package dev.lrxh.neptune.providers.placeholder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A line split once into literal text and placeholders, so formatting it only resolves what it contains.
+ */
+public class PlaceholderTemplate {
+    private final String raw;
+    private final String[] literals;
+    private final String[] keys;
+    private final PlaceholderResolver[] resolvers;
+
+    private PlaceholderTemplate(String raw, List<String> literals, List<String> keys, List<PlaceholderResolver> resolvers) {
+        this.raw = raw;
+        this.literals = literals.toArray(new String[0]);
+        this.keys = keys.toArray(new String[0]);
+        this.resolvers = resolvers.toArray(new PlaceholderResolver[0]);
+    }
+
+    /**
+     * Split a line on every {@code <key>} that has a resolver, anything else stays literal.
+     */
+    public static PlaceholderTemplate compile(String line, Map<String, PlaceholderResolver> registry) {
+        List<String> literals = new ArrayList<>();
+        List<String> keys = new ArrayList<>();
+        List<PlaceholderResolver> resolvers = new ArrayList<>();
+
+        int literalStart = 0;
+        int index = line.indexOf('<');
+        while (index != -1) {
+            int end = line.indexOf('>', index + 1);
+            if (end == -1) break;
+
+            String key = line.substring(index, end + 1);
+            PlaceholderResolver resolver = registry.get(key);
+            if (resolver == null) {
+                index = line.indexOf('<', index + 1);
+                continue;
+            }
+
+            literals.add(line.substring(literalStart, index));
+            keys.add(key);
+            resolvers.add(resolver);
+            literalStart = end + 1;
+            index = line.indexOf('<', literalStart);
+        }
+        literals.add(line.substring(literalStart));
+
+        return new PlaceholderTemplate(line, literals, keys, resolvers);
+    }
+
+    public boolean hasPlaceholders() {
+        return resolvers.length > 0;
+    }
+
+    public String format(PlaceholderContext context, StringBuilder builder) {
+        if (!hasPlaceholders()) return raw;
+
+        builder.setLength(0);
+        for (int i = 0; i < resolvers.length; i++) {
+            builder.append(literals[i]);
+            String value = resolvers[i].resolve(context);
+            builder.append(value != null ? value : keys[i]);
+        }
+        builder.append(literals[literals.length - 1]);
+
+        return builder.toString();
+    }
+}
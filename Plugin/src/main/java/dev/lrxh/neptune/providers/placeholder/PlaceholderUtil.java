@@ -2,183 +2,203 @@ package dev.lrxh.neptune.providers.placeholder;
 
 import dev.lrxh.neptune.API;
 import dev.lrxh.neptune.Neptune;
-import dev.lrxh.neptune.feature.party.Party;
-import dev.lrxh.neptune.feature.queue.QueueEntry;
-import dev.lrxh.neptune.feature.queue.QueueService;
-import dev.lrxh.neptune.game.kit.impl.KitRule;
-import dev.lrxh.neptune.game.match.Match;
-import dev.lrxh.neptune.game.match.MatchService;
-import dev.lrxh.neptune.game.match.impl.FfaFightMatch;
-import dev.lrxh.neptune.game.match.impl.SoloFightMatch;
 import dev.lrxh.neptune.game.match.impl.participant.Participant;
-import dev.lrxh.neptune.game.match.impl.team.MatchTeam;
-import dev.lrxh.neptune.game.match.impl.team.TeamFightMatch;
-import dev.lrxh.neptune.profile.data.GlobalStats;
 import dev.lrxh.neptune.profile.data.ProfileState;
 import dev.lrxh.neptune.profile.impl.Profile;
 import dev.lrxh.neptune.utils.CC;
-import dev.lrxh.neptune.utils.PlayerUtil;
+import dev.lrxh.neptune.utils.Time;
 import lombok.experimental.UtilityClass;
 import me.clip.placeholderapi.PlaceholderAPI;
 import me.clip.placeholderapi.PlaceholderAPIPlugin;
-import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @UtilityClass
 public class PlaceholderUtil {
+    private final int MAX_TEMPLATES = 1024;
+    private final Map<String, PlaceholderResolver> RESOLVERS = new HashMap<>();
+    private final Map<String, PlaceholderTemplate> TEMPLATES = new ConcurrentHashMap<>();
+    private final ThreadLocal<StringBuilder> BUILDER = ThreadLocal.withInitial(() -> new StringBuilder(64));
+
+    static {
+        register("<online>", PlaceholderContext::getOnline);
+        register("<queued>", PlaceholderContext::getQueued);
+        register("<in-match>", PlaceholderContext::getInMatch);
+        register("<player>", PlaceholderContext::getName);
+        register("<ping>", context -> String.valueOf(context.getPing()));
+        register("<wins>", context -> String.valueOf(context.getWins()));
+        register("<losses>", context -> String.valueOf(context.getLosses()));
+        register("<currentStreak>", context -> String.valueOf(context.getCurrentStreak()));
+
+        // Queue
+        register("<kit>", PlaceholderContext::getQueueKit);
+        register("<maxPing>", context -> context.isQueued() ? String.valueOf(context.getMaxPing()) : null);
+        register("<time>", context -> context.isQueued() ? Time.format(context.getQueueTime()) : null);
+
+        // Party
+        register("<leader>", PlaceholderContext::getPartyLeader);
+        register("<size>", context -> context.getPartyLeader() != null ? String.valueOf(context.getPartySize()) : null);
+
+        // Solo match
+        registerSolo("<opponent>", (context, participant, opponent) -> opponent.getName());
+        registerSolo("<opponent-ping>", (context, participant, opponent) -> String.valueOf(opponent.getPing()));
+        registerSolo("<combo>", (context, participant, opponent) -> participant.getCombo() > 1 ? "&e(" + participant.getCombo() + " Combo)" : "");
+        registerSolo("<opponent-combo>", (context, participant, opponent) -> opponent.getCombo() > 1 ? "&e(" + opponent.getCombo() + " Combo)" : "");
+        registerSolo("<hits>", (context, participant, opponent) -> String.valueOf(participant.getHits()));
+        registerSolo("<opponent-hits>", (context, participant, opponent) -> String.valueOf(opponent.getHits()));
+        registerSolo("<diffrence>", (context, participant, opponent) -> Participant.formatHitsDifference(participant.getHits() - opponent.getHits()));
+        registerSolo("<time>", (context, participant, opponent) -> context.getMatchValues().getTime());
+        registerSolo("<maxPoints>", (context, participant, opponent) -> context.getRounds() > 1 ? String.valueOf(context.getRounds()) : null);
+        registerSolo("<points>", (context, participant, opponent) -> context.getRounds() > 1 ? String.valueOf(participant.getRoundsWon()) : null);
+        registerSolo("<opponent-points>", (context, participant, opponent) -> context.getRounds() > 1 ? String.valueOf(opponent.getRoundsWon()) : null);
+        registerSolo("<bed-status>", (context, participant, opponent) -> context.isBedWars() ? bedStatus(participant.isBedBroken()) : null);
+        registerSolo("<opponent-bed-status>", (context, participant, opponent) -> context.isBedWars() ? bedStatus(opponent.isBedBroken()) : null);
+
+        // Solo spectator
+        register("<playerRed_name>", context -> context.getRed() == null ? null : context.getRed().getName());
+        register("<playerBlue_name>", context -> context.getBlue() == null ? null : context.getBlue().getName());
+        register("<playerRed_ping>", context -> context.getRed() == null ? null : String.valueOf(context.getRed().getPing()));
+        register("<playerBlue_ping>", context -> context.getBlue() == null ? null : String.valueOf(context.getBlue().getPing()));
+        register("<red-bed-status>", context -> context.getRed() == null || !context.isBedWars() ? null : bedStatus(context.getRed().isBedBroken()));
+        register("<blue-bed-status>", context -> context.getBlue() == null || !context.isBedWars() ? null : bedStatus(context.getBlue().isBedBroken()));
+
+        // Team match
+        register("<alive>", context -> isTeamGame(context) ? String.valueOf(context.getTeam().getAlive()) : null);
+        register("<max>", context -> isTeamGame(context) ? String.valueOf(context.getTeam().getSize()) : null);
+        register("<alive-opponent>", context -> isTeamGame(context) ? String.valueOf(context.getOpponentTeam().getAlive()) : null);
+        register("<max-opponent>", context -> isTeamGame(context) ? String.valueOf(context.getOpponentTeam().getSize()) : null);
+        register("<team-bed-status>", context -> isTeamGame(context) && context.isBedWars() ? bedStatus(context.getTeam().isBedDestroyed()) : null);
+        register("<opponent-team-bed-status>", context -> isTeamGame(context) && context.isBedWars() ? bedStatus(context.getOpponentTeam().isBedDestroyed()) : null);
+
+        // Team spectator, team is team A and opponent team is team B
+        register("<alive-red>", context -> isTeamSpectator(context) ? String.valueOf(context.getTeam().getAlive()) : null);
+        register("<max-red>", context -> isTeamSpectator(context) ? String.valueOf(context.getTeam().getSize()) : null);
+        register("<alive-blue>", context -> isTeamSpectator(context) ? String.valueOf(context.getOpponentTeam().getAlive()) : null);
+        register("<max-blue>", context -> isTeamSpectator(context) ? String.valueOf(context.getOpponentTeam().getSize()) : null);
+        register("<red-bed-status>", context -> isTeamSpectator(context) && context.isBedWars() ? bedStatus(context.getTeam().isBedDestroyed()) : null);
+        register("<blue-bed-status>", context -> isTeamSpectator(context) && context.isBedWars() ? bedStatus(context.getOpponentTeam().isBedDestroyed()) : null);
+
+        // FFA match
+        register("<alive>", context -> context.getMatchValues() == null ? null : context.getMatchValues().getAlive());
+
+        // Any match
+        register("<kit>", context -> context.getMatchValues() == null ? null : context.getMatchValues().getKit());
+        register("<arena>", context -> context.getMatchValues() == null ? null : context.getMatchValues().getArena());
+    }
 
+    /**
+     * Register a resolver, if the key already has one the new resolver is only used when the previous ones return null.
+     */
+    public void register(String key, PlaceholderResolver resolver) {
+        RESOLVERS.merge(key, resolver, PlaceholderResolver::orElse);
+        TEMPLATES.clear();
+    }
+
+    private void registerSolo(String key, SoloResolver resolver) {
+        register(key, context -> context.getSelf() == null ? null : resolver.resolve(context, context.getSelf(), context.getOpponent()));
+    }
+
+    private boolean isTeamGame(PlaceholderContext context) {
+        return context.isTeamMatch() && context.is(ProfileState.IN_GAME) && context.getTeam() != null;
+    }
+
+    private boolean isTeamSpectator(PlaceholderContext context) {
+        return context.isTeamMatch() && context.is(ProfileState.IN_SPECTATOR);
+    }
+
+    private String bedStatus(boolean broken) {
+        return broken ? CC.color("&c✘") : CC.color("&a✔");
+    }
 
     public List<String> format(List<String> lines, Player player) {
-        List<String> formattedLines = new ArrayList<>();
+        PlaceholderContext context = capture(player);
+        if (context == null) return new ArrayList<>(lines);
 
+        List<String> formattedLines = new ArrayList<>(lines.size());
         for (String line : lines) {
-            formattedLines.add(format(line, player));
+            formattedLines.add(setPlaceholderAPI(format(line, context), player));
         }
 
         return formattedLines;
     }
 
     public String format(String line, Player player) {
+        PlaceholderContext context = capture(player);
+        if (context == null) return line;
+
+        return setPlaceholderAPI(format(line, context), player);
+    }
+
+    /**
+     * Capture what the placeholders of a player read, has to be called on the main thread.
+     *
+     * @return the captured context, null if the player has no profile
+     */
+    public PlaceholderContext capture(Player player) {
         Profile profile = API.getProfile(player);
-        if (profile == null) return line;
-        ProfileState state = profile.getState();
-
-        line = line.replaceAll("<online>", String.valueOf(Bukkit.getServer().getOnlinePlayers().size()));
-        line = line.replaceAll("<queued>", String.valueOf(QueueService.get().queue.size()));
-        line = line.replaceAll("<in-match>", String.valueOf(MatchService.get().matches.size()));
-        line = line.replaceAll("<player>", player.getName());
-        line = line.replaceAll("<ping>", String.valueOf((PlayerUtil.getPing(player))));
-
-        GlobalStats globalStats = profile.getGameData().getGlobalStats();
-        line = line.replaceAll("<wins>", String.valueOf(globalStats.getWins()));
-        line = line.replaceAll("<losses>", String.valueOf(globalStats.getLosses()));
-        line = line.replaceAll("<currentStreak>", String.valueOf(globalStats.getCurrentStreak()));
-
-        if (state.equals(ProfileState.IN_QUEUE)) {
-            QueueEntry queueEntry = QueueService.get().get(player.getUniqueId());
-            if (queueEntry == null) return line;
-            line = line.replaceAll("<kit>", queueEntry.getKit().getDisplayName());
-            line = line.replaceAll("<maxPing>", String.valueOf(profile.getSettingData().getMaxPing()));
-            line = line.replaceAll("<time>", String.valueOf(queueEntry.getTime().formatTime()));
-        }
+        return profile == null ? null : new PlaceholderContext(player, profile);
+    }
 
-        if (state.equals(ProfileState.IN_PARTY)) {
-            Party party = profile.getGameData().getParty();
-            line = line.replaceAll("<leader>", party.getLeaderName());
-            line = line.replaceAll("<size>", String.valueOf(party.getUsers().size()));
+    /**
+     * Format lines from a captured context, safe to call off the main thread.
+     * PlaceholderAPI is not applied, see {@link #setPlaceholderAPI(List, Player)}.
+     */
+    public List<String> format(List<String> lines, PlaceholderContext context) {
+        List<String> formattedLines = new ArrayList<>(lines.size());
+        for (String line : lines) {
+            formattedLines.add(format(line, context));
         }
 
-        if (profile.getMatch() != null) {
-            Match match = profile.getMatch();
-            if (match instanceof SoloFightMatch soloFightMatch) {
-
-                Participant redPlayer = soloFightMatch.getParticipantA();
-                Participant bluePlayer = soloFightMatch.getParticipantB();
-
-                if (profile.getState().equals(ProfileState.IN_GAME)) {
-                    Participant participant = match.getParticipant(player.getUniqueId());
-                    if (participant == null) return "";
-                    Participant opponent = participant.getOpponent();
-                    Player opponentPlayer = participant.getOpponent().getPlayer();
-                    line = line.replaceAll("<opponent>", participant.getOpponent().getNameUnColored());
-                    line = line.replaceAll("<opponent-ping>", String.valueOf(opponentPlayer == null ? 0 : opponentPlayer.getPing()));
-
-                    line = line.replaceAll("<combo>", participant.getCombo() > 1 ? "&e(" + participant.getCombo() + " Combo)" : "");
-                    line = line.replaceAll("<opponent-combo>", opponent.getCombo() > 1 ? "&e(" + opponent.getCombo() + " Combo)" : "");
-                    line = line.replaceAll("<hits>", String.valueOf(participant.getHits()));
-                    line = line.replaceAll("<opponent-hits>", String.valueOf(opponent.getHits()));
-                    line = line.replaceAll("<diffrence>", participant.getHitsDifference(opponent));
-                    line = line.replaceAll("<time>", match.getTime().formatTime());
-
-                    if (match.getRounds() > 1) {
-                        line = line.replaceAll("<maxPoints>", String.valueOf(soloFightMatch.getRounds()));
-                        line = line.replaceAll("<points>", String.valueOf(participant.getRoundsWon()));
-                        line = line.replaceAll("<opponent-points>", String.valueOf(opponent.getRoundsWon()));
-                    }
-                    
-                    // Add bed status placeholders for bedwars
-                    if (match.getKit().is(KitRule.BED_WARS)) {
-                        String bedStatus = participant.isBedBroken() ? CC.color("&c✘") : CC.color("&a✔");
-                        String opponentBedStatus = opponent.isBedBroken() ? CC.color("&c✘") : CC.color("&a✔");
-                        
-                        line = line.replaceAll("<bed-status>", bedStatus);
-                        line = line.replaceAll("<opponent-bed-status>", opponentBedStatus);
-                    }
-                }
-
-                if (profile.getState().equals(ProfileState.IN_SPECTATOR)) {
-                    line = line.replaceAll("<playerRed_name>", redPlayer.getNameUnColored());
-                    line = line.replaceAll("<playerBlue_name>", bluePlayer.getNameUnColored());
-
-                    line = line.replaceAll("<playerRed_ping>", String.valueOf(PlayerUtil.getPing(redPlayer.getPlayer())));
-                    line = line.replaceAll("<playerBlue_ping>", String.valueOf(PlayerUtil.getPing(bluePlayer.getPlayer())));
-                    
-                    // Add bed status placeholders for spectators in bedwars
-                    if (match.getKit().is(KitRule.BED_WARS)) {
-                        String redBedStatus = redPlayer.isBedBroken() ? CC.color("&c✘") : CC.color("&a✔");
-                        String blueBedStatus = bluePlayer.isBedBroken() ? CC.color("&c✘") : CC.color("&a✔");
-                        
-                        line = line.replaceAll("<red-bed-status>", redBedStatus);
-                        line = line.replaceAll("<blue-bed-status>", blueBedStatus);
-                    }
-                }
-            }
-            if (match instanceof TeamFightMatch teamFightMatch) {
-                MatchTeam matchTeam = teamFightMatch.getParticipantTeam(teamFightMatch.getParticipant(player.getUniqueId()));
-                MatchTeam opponentTeam = matchTeam.equals(teamFightMatch.getTeamA()) ? teamFightMatch.getTeamB() : teamFightMatch.getTeamA();
-
-                if (profile.getState().equals(ProfileState.IN_GAME)) {
-                    line = line.replaceAll("<alive>", String.valueOf(matchTeam.getAliveParticipants()));
-                    line = line.replaceAll("<max>", String.valueOf(matchTeam.getParticipants().size()));
-                    line = line.replaceAll("<alive-opponent>", String.valueOf(opponentTeam.getAliveParticipants()));
-                    line = line.replaceAll("<max-opponent>", String.valueOf(opponentTeam.getParticipants().size()));
-                    
-                    // Add bed status placeholders for team bedwars
-                    if (match.getKit().is(KitRule.BED_WARS)) {
-                        String teamBedStatus = matchTeam.isBedDestroyed() ? CC.color("&c✘") : CC.color("&a✔");
-                        String opponentTeamBedStatus = opponentTeam.isBedDestroyed() ? CC.color("&c✘") : CC.color("&a✔");
-                        
-                        line = line.replaceAll("<team-bed-status>", teamBedStatus);
-                        line = line.replaceAll("<opponent-team-bed-status>", opponentTeamBedStatus);
-                    }
-                }
-
-                if (profile.getState().equals(ProfileState.IN_SPECTATOR)) {
-                    MatchTeam redTeam = teamFightMatch.getTeamA();
-                    MatchTeam blueTeam = teamFightMatch.getTeamB();
-
-                    line = line.replaceAll("<alive-red>", String.valueOf(redTeam.getAliveParticipants()));
-                    line = line.replaceAll("<max-red>", String.valueOf(redTeam.getParticipants().size()));
-                    line = line.replaceAll("<alive-blue>", String.valueOf(blueTeam.getAliveParticipants()));
-                    line = line.replaceAll("<max-blue>", String.valueOf(blueTeam.getParticipants().size()));
-                    
-                    // Add bed status placeholders for spectators in team bedwars
-                    if (match.getKit().is(KitRule.BED_WARS)) {
-                        String redBedStatus = redTeam.isBedDestroyed() ? CC.color("&c✘") : CC.color("&a✔");
-                        String blueBedStatus = blueTeam.isBedDestroyed() ? CC.color("&c✘") : CC.color("&a✔");
-                        
-                        line = line.replaceAll("<red-bed-status>", redBedStatus);
-                        line = line.replaceAll("<blue-bed-status>", blueBedStatus);
-                    }
-                }
-            }
-
-            if (match instanceof FfaFightMatch ffaFightMatch) {
-                line = line.replaceAll("<alive>", String.valueOf(ffaFightMatch.participants.size() - ffaFightMatch.deadParticipants.size()));
-            }
-
-            line = line.replaceAll("<kit>", match.getKit().getDisplayName());
-            line = line.replaceAll("<arena>", match.getArena().getDisplayName());
-        }
+        return formattedLines;
+    }
+
+    public String format(String line, PlaceholderContext context) {
+        if (context.isMissingParticipant()) return "";
+
+        return getTemplate(line).format(context, BUILDER.get());
+    }
 
-        if (Neptune.get().isPlaceholder() && PlaceholderAPIPlugin.getInstance().isEnabled()) {
-            return PlaceholderAPI.setPlaceholders(player, line);
+    /**
+     * Apply PlaceholderAPI to lines, its expansions are not thread safe so this has to be called on the main thread.
+     */
+    public List<String> setPlaceholderAPI(List<String> lines, Player player) {
+        if (!isPlaceholderAPI()) return lines;
+
+        List<String> replaced = new ArrayList<>(lines.size());
+        for (String line : lines) {
+            replaced.add(setPlaceholderAPI(line, player));
         }
 
-        return line;
+        return replaced;
     }
 
+    public String setPlaceholderAPI(String line, Player player) {
+        if (!isPlaceholderAPI() || line.indexOf('%') == -1) return line;
+
+        return PlaceholderAPI.setPlaceholders(player, line);
+    }
+
+    private boolean isPlaceholderAPI() {
+        return Neptune.get().isPlaceholder() && PlaceholderAPIPlugin.getInstance().isEnabled();
+    }
+
+    private PlaceholderTemplate getTemplate(String line) {
+        PlaceholderTemplate template = TEMPLATES.get(line);
+        if (template != null) return template;
+
+        template = PlaceholderTemplate.compile(line, RESOLVERS);
+        // Lines are nearly always config strings, anything past the cap is compiled per call instead of growing the cache
+        if (TEMPLATES.size() < MAX_TEMPLATES) TEMPLATES.put(line, template);
+
+        return template;
+    }
+
+    private interface SoloResolver {
+        String resolve(PlaceholderContext context, PlaceholderContext.ParticipantValues participant, PlaceholderContext.ParticipantValues opponent);
+    }
 }
@@ -9,8 +9,10 @@ import dev.lrxh.neptune.game.match.impl.SoloFightMatch;
 import dev.lrxh.neptune.game.match.impl.team.TeamFightMatch;
 import dev.lrxh.neptune.profile.data.ProfileState;
 import dev.lrxh.neptune.profile.impl.Profile;
+import dev.lrxh.neptune.providers.placeholder.PlaceholderContext;
 import dev.lrxh.neptune.providers.placeholder.PlaceholderUtil;
 import fr.mrmicky.fastboard.FastAdapter;
+import fr.mrmicky.fastboard.FastSnapshot;
 import org.bukkit.entity.Player;
 
 import java.util.ArrayList;
@@ -25,6 +27,32 @@ public class ScoreboardAdapter implements FastAdapter {
         Profile profile = API.getProfile(player);
         if (profile == null) return new ArrayList<>();
 
+        return PlaceholderUtil.format(getUnformattedLines(profile), player);
+    }
+
+    @Override
+    public FastSnapshot snapshot(Player player) {
+        PlaceholderContext context = PlaceholderUtil.capture(player);
+        if (context == null) return FastAdapter.super.snapshot(player);
+
+        // PlaceholderAPI expansions read live state, so they run here and only our own placeholders are left for the render threads
+        String title = PlaceholderUtil.setPlaceholderAPI(getAnimatedText(), player);
+        List<String> lines = PlaceholderUtil.setPlaceholderAPI(List.copyOf(getUnformattedLines(context.getProfile())), player);
+
+        return new FastSnapshot() {
+            @Override
+            public String getTitle() {
+                return PlaceholderUtil.format(title, context);
+            }
+
+            @Override
+            public List<String> getLines() {
+                return PlaceholderUtil.format(lines, context);
+            }
+        };
+    }
+
+    private List<String> getUnformattedLines(Profile profile) {
         ProfileState state = profile.getState();
         Match match;
 
@@ -32,28 +60,29 @@ public class ScoreboardAdapter implements FastAdapter {
             case IN_LOBBY:
             case IN_KIT_EDITOR:
                 if (!SettingsLocale.ENABLED_SCOREBOARD_LOBBY.getBoolean()) return new ArrayList<>();
-                return PlaceholderUtil.format(new ArrayList<>(ScoreboardLocale.LOBBY.getStringList()), player);
+                return ScoreboardLocale.LOBBY.getStringList();
             case IN_PARTY:
                 if (!SettingsLocale.ENABLED_SCOREBOARD_PARTY.getBoolean()) return new ArrayList<>();
-                return PlaceholderUtil.format(new ArrayList<>(ScoreboardLocale.PARTY_LOBBY.getStringList()), player);
+                return ScoreboardLocale.PARTY_LOBBY.getStringList();
             case IN_QUEUE:
                 if (!SettingsLocale.ENABLED_SCOREBOARD_QUEUE.getBoolean()) return new ArrayList<>();
-                return PlaceholderUtil.format(new ArrayList<>(ScoreboardLocale.IN_QUEUE.getStringList()), player);
+                return ScoreboardLocale.IN_QUEUE.getStringList();
             case IN_GAME:
                 if (!SettingsLocale.ENABLED_SCOREBOARD_INGAME.getBoolean()) return new ArrayList<>();
                 match = profile.getMatch();
-                return match.getScoreboard(player.getUniqueId());
+                List<String> lines = match.getScoreboardLines();
+                return lines == null ? new ArrayList<>() : lines;
             case IN_SPECTATOR:
                 if (!SettingsLocale.ENABLED_SCOREBOARD_SPECTATOR.getBoolean()) return new ArrayList<>();
                 match = profile.getMatch();
                 if (match instanceof SoloFightMatch) {
-                    return PlaceholderUtil.format(new ArrayList<>(ScoreboardLocale.IN_SPECTATOR.getStringList()), player);
+                    return ScoreboardLocale.IN_SPECTATOR.getStringList();
                 } else if (match instanceof TeamFightMatch) {
                     if (!SettingsLocale.ENABLED_SCOREBOARD_SPECTATOR_TEAM.getBoolean()) return new ArrayList<>();
-                    return PlaceholderUtil.format(new ArrayList<>(ScoreboardLocale.IN_SPECTATOR_TEAM.getStringList()), player);
+                    return ScoreboardLocale.IN_SPECTATOR_TEAM.getStringList();
                 } else if (match instanceof FfaFightMatch) {
                     if (!SettingsLocale.ENABLED_SCOREBOARD_SPECTATOR_FFA.getBoolean()) return new ArrayList<>();
-                    return PlaceholderUtil.format(new ArrayList<>(ScoreboardLocale.IN_SPECTATOR_FFA.getStringList()), player);
+                    return ScoreboardLocale.IN_SPECTATOR_FFA.getStringList();
                 }
                 break;
             default:
@@ -63,6 +92,24 @@ public class ScoreboardAdapter implements FastAdapter {
         return new ArrayList<>();
     }
 
+    public int getRefreshTicks(Player player) {
+        Profile profile = API.getProfile(player);
+        if (profile == null) return SettingsLocale.SCOREBOARD_REFRESH_LOBBY.getInt();
+
+        int ticks = switch (profile.getState()) {
+            case IN_GAME, IN_SPECTATOR -> SettingsLocale.SCOREBOARD_REFRESH_INGAME.getInt();
+            case IN_QUEUE -> SettingsLocale.SCOREBOARD_REFRESH_QUEUE.getInt();
+            default -> SettingsLocale.SCOREBOARD_REFRESH_LOBBY.getInt();
+        };
+
+        // Keep up with the title animation
+        if (ScoreboardLocale.TITLE.getStringList().size() > 1) {
+            ticks = Math.min(ticks, ScoreboardLocale.UPDATE_INTERVAL.getInt() / 50);
+        }
+
+        return ticks;
+    }
+
     private String getAnimatedText() {
         int index = (int) ((System.currentTimeMillis() / ScoreboardLocale.UPDATE_INTERVAL.getInt())
                 % ScoreboardLocale.TITLE.getStringList().size());
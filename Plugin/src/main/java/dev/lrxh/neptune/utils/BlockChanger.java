@@ -1,5 +1,6 @@
 package dev.lrxh.neptune.utils;
 
+import org.bukkit.Bukkit;
 import org.bukkit.Chunk;
 import org.bukkit.Location;
 import org.bukkit.Material;
@@ -9,6 +10,7 @@ import org.bukkit.block.data.BlockData;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import java.io.*;
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodType;
@@ -18,6 +20,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * @author Devlrxxh
@@ -45,6 +49,7 @@ public class BlockChanger {
     private static MethodHandle GET_COMBINED_ID;
     private static MethodHandle SET_TYPE;
     private static MethodHandle GET_BLOCK_DATA;
+    private static MethodHandle FROM_DATA;
     // NMS Constructors
     private static Constructor<?> CHUNK_SECTION_CONSTRUCTOR;
 
@@ -210,6 +215,215 @@ public class BlockChanger {
         return CompletableFuture.runAsync(() -> paste(snapshot, offsetX, offsetZ, ignoreAir));
     }
 
+    /**
+     * Paste a snapshot grouped by 16x16x16 chunk section, every section is
+     * resolved once and written in a single pass, every touched chunk is refreshed once.
+     *
+     * @param snapshot Captured Snapshot.
+     * @param offsetX  The offset to apply to the X coordinate of each block.
+     * @param offsetZ  The offset to apply to the Z coordinate of each block.
+     */
+    public static void pasteSections(Snapshot snapshot, int offsetX, int offsetZ, boolean ignoreAir) {
+        long startTime = System.nanoTime();
+        HashMap<Long, HashMap<Integer, Object[]>> chunks = new HashMap<>();
+
+        for (Map.Entry<Object, List<Location>> entry : snapshot.data.entrySet()) {
+            if (ignoreAir) if (entry.getKey().toString().toLowerCase().contains("air")) continue;
+
+            for (Location location : entry.getValue()) {
+                int x = location.getBlockX() + offsetX;
+                int y = location.getBlockY();
+                int z = location.getBlockZ() + offsetZ;
+
+                putSectionBlock(chunks, x, y, z, entry.getKey());
+            }
+        }
+
+        int blocks = writeSections(snapshot.world, chunks);
+
+        long duration = Math.max(1, (System.nanoTime() - startTime) / 1_000_000);
+        debug("Pasted sections time: " + duration + " ms (" + blocks + " blocks, " + (blocks * 1000L / duration) + " blocks/sec)");
+    }
+
+    /**
+     * Paste a snapshot grouped by 16x16x16 chunk section
+     *
+     * @param snapshot Captured Snapshot.
+     * @param offsetX  The offset to apply to the X coordinate of each block.
+     * @param offsetZ  The offset to apply to the Z coordinate of each block.
+     * @return A CompletableFuture that completes when the operation is done.
+     */
+    public static CompletableFuture<Void> pasteSectionsAsync(Snapshot snapshot, int offsetX, int offsetZ, boolean ignoreAir) {
+        return CompletableFuture.runAsync(() -> pasteSections(snapshot, offsetX, offsetZ, ignoreAir));
+    }
+
+    /**
+     * Paste a compact snapshot section by section and allowing an offset
+     *
+     * @param snapshot Captured CompactSnapshot.
+     * @param offsetX  The offset to apply to the X coordinate of each block.
+     * @param offsetZ  The offset to apply to the Z coordinate of each block.
+     */
+    public static void paste(CompactSnapshot snapshot, int offsetX, int offsetZ, boolean ignoreAir) {
+        long startTime = System.nanoTime();
+        HashMap<Long, HashMap<Integer, Object[]>> chunks = new HashMap<>();
+
+        boolean[] skip = new boolean[snapshot.palette.size()];
+        for (int id = 0; id < skip.length; id++) {
+            Object state = snapshot.palette.get(id);
+            skip[id] = state == null || (ignoreAir && state.toString().toLowerCase().contains("air"));
+        }
+
+        int index = 0;
+        for (int y = 0; y < snapshot.sizeY; y++) {
+            for (int z = 0; z < snapshot.sizeZ; z++) {
+                for (int x = 0; x < snapshot.sizeX; x++) {
+                    int id = snapshot.states[index++] & 0xFFFF;
+                    if (skip[id]) continue;
+
+                    putSectionBlock(chunks,
+                            snapshot.minX + x + offsetX,
+                            snapshot.minY + y,
+                            snapshot.minZ + z + offsetZ,
+                            snapshot.palette.get(id));
+                }
+            }
+        }
+
+        int blocks = writeSections(snapshot.world, chunks);
+
+        long duration = Math.max(1, (System.nanoTime() - startTime) / 1_000_000);
+        debug("Pasted compact snapshot time: " + duration + " ms (" + blocks + " blocks, " + (blocks * 1000L / duration) + " blocks/sec)");
+    }
+
+    /**
+     * Paste a compact snapshot section by section and allowing an offset
+     *
+     * @param snapshot Captured CompactSnapshot.
+     * @param offsetX  The offset to apply to the X coordinate of each block.
+     * @param offsetZ  The offset to apply to the Z coordinate of each block.
+     * @return A CompletableFuture that completes when the operation is done.
+     */
+    public static CompletableFuture<Void> pasteAsync(CompactSnapshot snapshot, int offsetX, int offsetZ, boolean ignoreAir) {
+        return CompletableFuture.runAsync(() -> paste(snapshot, offsetX, offsetZ, ignoreAir));
+    }
+
+    /**
+     * Restore chunk sections from a compact snapshot, only blocks that differ
+     * from the snapshot are written.
+     *
+     * @param snapshot Captured CompactSnapshot.
+     * @param offsetX  The offset to apply to the X coordinate of each block.
+     * @param offsetZ  The offset to apply to the Z coordinate of each block.
+     * @param sections World section coordinates {x, y, z} of the sections to restore
+     * @return Amount of blocks that were restored
+     */
+    public static int restoreSections(CompactSnapshot snapshot, int offsetX, int offsetZ, List<int[]> sections) {
+        long startTime = System.nanoTime();
+        HashMap<Long, HashMap<Integer, Object[]>> chunks = new HashMap<>();
+
+        int originX = snapshot.minX + offsetX;
+        int originZ = snapshot.minZ + offsetZ;
+
+        for (int[] section : sections) {
+            int startX = Math.max(section[0] << 4, originX);
+            int endX = Math.min((section[0] << 4) + 15, originX + snapshot.sizeX - 1);
+            int startY = Math.max(section[1] << 4, snapshot.minY);
+            int endY = Math.min((section[1] << 4) + 15, snapshot.minY + snapshot.sizeY - 1);
+            int startZ = Math.max(section[2] << 4, originZ);
+            int endZ = Math.min((section[2] << 4) + 15, originZ + snapshot.sizeZ - 1);
+
+            for (int y = startY; y <= endY; y++) {
+                for (int z = startZ; z <= endZ; z++) {
+                    int row = ((y - snapshot.minY) * snapshot.sizeZ + (z - originZ)) * snapshot.sizeX - originX;
+                    for (int x = startX; x <= endX; x++) {
+                        Object state = snapshot.palette.get(snapshot.states[row + x] & 0xFFFF);
+                        if (state == null) continue;
+
+                        putSectionBlock(chunks, x, y, z, state);
+                    }
+                }
+            }
+        }
+
+        int blocks = writeSections(snapshot.world, chunks);
+
+        long duration = (System.nanoTime() - startTime) / 1_000_000;
+        debug("Restored sections time: " + duration + " ms (" + sections.size() + " sections, " + blocks + " blocks)");
+        return blocks;
+    }
+
+    /**
+     * Capture all blocks between 2 positions into a palette encoded snapshot,
+     * reading every chunk section directly instead of going through Locations.
+     *
+     * @param pos1 Position 1
+     * @param pos2 Position 2
+     * @return CompactSnapshot captured snapshot
+     */
+    public static CompactSnapshot captureCompact(Location pos1, Location pos2) {
+        long startTime = System.currentTimeMillis();
+        World world = pos1.getWorld();
+
+        int minX = Math.min(pos1.getBlockX(), pos2.getBlockX());
+        int minY = Math.min(pos1.getBlockY(), pos2.getBlockY());
+        int minZ = Math.min(pos1.getBlockZ(), pos2.getBlockZ());
+
+        int maxX = Math.max(pos1.getBlockX(), pos2.getBlockX());
+        int maxY = Math.max(pos1.getBlockY(), pos2.getBlockY());
+        int maxZ = Math.max(pos1.getBlockZ(), pos2.getBlockZ());
+
+        CompactSnapshot snapshot = new CompactSnapshot(world, minX, minY, minZ, maxX - minX + 1, maxY - minY + 1, maxZ - minZ + 1);
+        Object nmsWorld = getWorldNMS(world);
+
+        for (int chunkX = minX >> 4; chunkX <= maxX >> 4; chunkX++) {
+            for (int chunkZ = minZ >> 4; chunkZ <= maxZ >> 4; chunkZ++) {
+                try {
+                    Object nmsChunk = GET_CHUNK_AT.invoke(nmsWorld, chunkX, chunkZ);
+
+                    int startX = Math.max(minX, chunkX << 4);
+                    int endX = Math.min(maxX, (chunkX << 4) + 15);
+                    int startZ = Math.max(minZ, chunkZ << 4);
+                    int endZ = Math.min(maxZ, (chunkZ << 4) + 15);
+
+                    Object cs = null;
+                    int sectionY = Integer.MIN_VALUE;
+
+                    for (int y = minY; y <= maxY; y++) {
+                        if (y >> 4 != sectionY) {
+                            sectionY = y >> 4;
+                            cs = getSection(nmsChunk, y);
+                        }
+                        if (cs == null) continue;
+
+                        for (int z = startZ; z <= endZ; z++) {
+                            for (int x = startX; x <= endX; x++) {
+                                snapshot.set(x - minX, y - minY, z - minZ, GET_BLOCK_DATA.invoke(cs, x & 15, y & 15, z & 15));
+                            }
+                        }
+                    }
+                } catch (Throwable e) {
+                    debug("Error occurred while at #captureCompact(Location, Location) " + e.getMessage());
+                }
+            }
+        }
+
+        long duration = System.currentTimeMillis() - startTime;
+        debug("Captured CompactSnapshot time: " + duration + " ms (" + snapshot.states.length + " blocks, " + snapshot.palette.size() + " states)");
+        return snapshot;
+    }
+
+    /**
+     * Capture all blocks between 2 positions into a palette encoded snapshot
+     *
+     * @param pos1 Position 1
+     * @param pos2 Position 2
+     * @return A CompletableFuture containing the CompactSnapshot captured.
+     */
+    public static CompletableFuture<CompactSnapshot> captureCompactAsync(Location pos1, Location pos2) {
+        return CompletableFuture.supplyAsync(() -> captureCompact(pos1, pos2));
+    }
+
     /**
      * Capture all blocks between 2 positions
      *
@@ -328,6 +542,56 @@ public class BlockChanger {
         debug("Pasted blocks time: " + duration + " ms");
     }
 
+    private static int writeSections(World world, HashMap<Long, HashMap<Integer, Object[]>> chunks) {
+        Object nmsWorld = getWorldNMS(world);
+        int written = 0;
+
+        for (Map.Entry<Long, HashMap<Integer, Object[]>> chunkEntry : chunks.entrySet()) {
+            int chunkX = (int) (chunkEntry.getKey() >> 32);
+            int chunkZ = (int) (long) chunkEntry.getKey();
+
+            try {
+                Object nmsChunk = GET_CHUNK_AT.invoke(nmsWorld, chunkX, chunkZ);
+
+                for (Map.Entry<Integer, Object[]> sectionEntry : chunkEntry.getValue().entrySet()) {
+                    Object cs = getSection(nmsChunk, sectionEntry.getKey() << 4);
+                    if (cs == null) continue;
+
+                    Object[] states = sectionEntry.getValue();
+                    for (int index = 0; index < states.length; index++) {
+                        Object blockDataNMS = states[index];
+                        if (blockDataNMS == null) continue;
+
+                        int x = index & 15;
+                        int z = (index >> 4) & 15;
+                        int y = index >> 8;
+
+                        if (blockDataNMS.equals(GET_BLOCK_DATA.invoke(cs, x, y, z))) continue;
+
+                        SET_TYPE.invoke(cs, x, y, z, blockDataNMS);
+                        written++;
+                    }
+                }
+            } catch (Throwable e) {
+                debug("Error occurred while at #writeSections(World, HashMap) " + e.getMessage());
+            }
+
+            world.refreshChunk(chunkX, chunkZ);
+        }
+
+        return written;
+    }
+
+    private static void putSectionBlock(HashMap<Long, HashMap<Integer, Object[]>> chunks, int x, int y, int z, Object blockDataNMS) {
+        Object[] section = chunks.computeIfAbsent(chunkKey(x >> 4, z >> 4), k -> new HashMap<>())
+                .computeIfAbsent(y >> 4, k -> new Object[4096]);
+        section[((y & 15) << 8) | ((z & 15) << 4) | (x & 15)] = blockDataNMS;
+    }
+
+    private static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
     private static void setBlock(BlockSnapshot snapshot, HashMap<Chunk, Object> chunkCache) {
         setBlock(snapshot.location.getWorld(), snapshot.blockDataNMS, snapshot.location, chunkCache);
     }
@@ -407,6 +671,15 @@ public class BlockChanger {
         return null;
     }
 
+    private static String getBlockDataString(Object blockDataNMS) {
+        try {
+            return ((BlockData) FROM_DATA.invoke(blockDataNMS)).getAsString();
+        } catch (Throwable e) {
+            debug("Error occurred while at #getBlockDataString(Object) " + e.getMessage());
+        }
+        return null;
+    }
+
     private static Object getSection(Object nmsChunk, int index) {
         try {
             int sectionIndex = index >> 4;
@@ -545,6 +818,13 @@ public class BlockChanger {
             } catch (Throwable e) {
                 debug("GET_STATE didn't load " + e.getCause().getMessage());
             }
+
+            try {
+                FROM_DATA = getMethodHandleStatic(CRAFT_BLOCK_DATA, "fromData", CRAFT_BLOCK_DATA, I_BLOCK_DATA);
+                debug("FROM_DATA Loaded");
+            } catch (Throwable e) {
+                debug("FROM_DATA didn't load " + e.getCause().getMessage());
+            }
         }
 
         try {
@@ -758,6 +1038,146 @@ public class BlockChanger {
         }
     }
 
+    /**
+     * Palette encoded snapshot, block positions are implied by their index in a
+     * dense x-z-y ordered {@code short[]} and every entry is an id into the palette.
+     * Palette id 0 is reserved for blocks that could not be read.
+     */
+    public static class CompactSnapshot {
+        private static final int MAGIC = 0x4E50534E;
+        private static final int VERSION = 1;
+
+        protected final World world;
+        protected final int minX, minY, minZ;
+        protected final int sizeX, sizeY, sizeZ;
+        protected final short[] states;
+        protected final List<Object> palette;
+        private final HashMap<Object, Integer> paletteIds;
+
+        protected CompactSnapshot(World world, int minX, int minY, int minZ, int sizeX, int sizeY, int sizeZ) {
+            this.world = world;
+            this.minX = minX;
+            this.minY = minY;
+            this.minZ = minZ;
+            this.sizeX = sizeX;
+            this.sizeY = sizeY;
+            this.sizeZ = sizeZ;
+            this.states = new short[sizeX * sizeY * sizeZ];
+            this.palette = new ArrayList<>();
+            this.paletteIds = new HashMap<>();
+            this.palette.add(null);
+        }
+
+        protected void set(int x, int y, int z, Object blockDataNMS) {
+            if (blockDataNMS == null) return;
+
+            Integer id = paletteIds.get(blockDataNMS);
+            if (id == null) {
+                if (palette.size() > 0xFFFF) throw new IllegalStateException("Snapshot palette is full");
+                id = palette.size();
+                palette.add(blockDataNMS);
+                paletteIds.put(blockDataNMS, id);
+            }
+
+            states[(y * sizeZ + z) * sizeX + x] = (short) (int) id;
+        }
+
+        /**
+         * Check if the snapshot was captured from the area between 2 positions.
+         *
+         * @param pos1 Position 1
+         * @param pos2 Position 2
+         * @return true if world and bounds are the same
+         */
+        public boolean matches(Location pos1, Location pos2) {
+            return world.equals(pos1.getWorld())
+                    && minX == Math.min(pos1.getBlockX(), pos2.getBlockX())
+                    && minY == Math.min(pos1.getBlockY(), pos2.getBlockY())
+                    && minZ == Math.min(pos1.getBlockZ(), pos2.getBlockZ())
+                    && sizeX == Math.abs(pos1.getBlockX() - pos2.getBlockX()) + 1
+                    && sizeY == Math.abs(pos1.getBlockY() - pos2.getBlockY()) + 1
+                    && sizeZ == Math.abs(pos1.getBlockZ() - pos2.getBlockZ()) + 1;
+        }
+
+        public int getVolume() {
+            return states.length;
+        }
+
+        public int getPaletteSize() {
+            return palette.size();
+        }
+
+        /**
+         * Save this snapshot as a GZIP compressed file.
+         *
+         * @param file File to write to, parent directories are created
+         */
+        public void save(File file) throws IOException {
+            File parent = file.getParentFile();
+            if (parent != null && !parent.exists() && !parent.mkdirs()) {
+                throw new IOException("Could not create " + parent.getPath());
+            }
+
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(new FileOutputStream(file))))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeUTF(world.getName());
+                out.writeInt(minX);
+                out.writeInt(minY);
+                out.writeInt(minZ);
+                out.writeInt(sizeX);
+                out.writeInt(sizeY);
+                out.writeInt(sizeZ);
+
+                out.writeInt(palette.size());
+                for (Object state : palette) {
+                    String blockData = state == null ? null : getBlockDataString(state);
+                    out.writeUTF(blockData == null ? "" : blockData);
+                }
+
+                for (short state : states) {
+                    out.writeShort(state);
+                }
+            }
+        }
+
+        /**
+         * Load a snapshot previously written with {@link #save(File)},
+         * the source chunks don't need to be loaded.
+         *
+         * @param file File to read from
+         * @return CompactSnapshot loaded snapshot
+         */
+        public static CompactSnapshot load(File file) throws IOException {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(new FileInputStream(file))))) {
+                if (in.readInt() != MAGIC) throw new IOException("Not a snapshot file");
+                int version = in.readInt();
+                if (version != VERSION) throw new IOException("Unsupported snapshot version " + version);
+
+                String worldName = in.readUTF();
+                World world = Bukkit.getWorld(worldName);
+                if (world == null) throw new IOException("World " + worldName + " not found");
+
+                CompactSnapshot snapshot = new CompactSnapshot(world, in.readInt(), in.readInt(), in.readInt(), in.readInt(), in.readInt(), in.readInt());
+
+                int paletteSize = in.readInt();
+                snapshot.palette.clear();
+                for (int i = 0; i < paletteSize; i++) {
+                    String blockData = in.readUTF();
+                    Object state = blockData.isEmpty() ? null : getBlockDataNMS(Bukkit.createBlockData(blockData));
+                    snapshot.palette.add(state);
+                    if (state != null) snapshot.paletteIds.putIfAbsent(state, i);
+                }
+
+                for (int i = 0; i < snapshot.states.length; i++) {
+                    snapshot.states[i] = in.readShort();
+                }
+
+                return snapshot;
+            }
+        }
+    }
+
     public static class BlockSnapshot {
         protected final Object blockDataNMS;
         protected Location location;
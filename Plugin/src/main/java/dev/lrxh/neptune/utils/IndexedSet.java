@@ -0,0 +1,59 @@
+package dev.lrxh.neptune.utils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Set backed by an array list and an index map, add, remove,
+ * contains and picking a random element are all constant time.
+ */
+public class IndexedSet<E> {
+    private final List<E> elements = new ArrayList<>();
+    private final Map<E, Integer> indexes = new HashMap<>();
+
+    public boolean add(E element) {
+        if (indexes.containsKey(element)) return false;
+
+        indexes.put(element, elements.size());
+        elements.add(element);
+        return true;
+    }
+
+    public boolean remove(E element) {
+        Integer index = indexes.remove(element);
+        if (index == null) return false;
+
+        E last = elements.remove(elements.size() - 1);
+        if (index < elements.size()) {
+            elements.set(index, last);
+            indexes.put(last, index);
+        }
+        return true;
+    }
+
+    public boolean contains(E element) {
+        return indexes.containsKey(element);
+    }
+
+    public E random() {
+        if (elements.isEmpty()) return null;
+
+        return elements.get(ThreadLocalRandom.current().nextInt(elements.size()));
+    }
+
+    public int size() {
+        return elements.size();
+    }
+
+    public boolean isEmpty() {
+        return elements.isEmpty();
+    }
+
+    public void clear() {
+        elements.clear();
+        indexes.clear();
+    }
+}
@@ -0,0 +1,106 @@
+package dev.lrxh.neptune.utils;
+
+import lombok.experimental.UtilityClass;
+import org.bukkit.inventory.ItemStack;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Versioned binary format for kit loadouts built on Paper's item byte serialization,
+ * strings without the prefix are read as the legacy {@link ItemUtils#serialize(List)} format.
+ */
+@UtilityClass
+public class LoadoutCodec {
+    private final String PREFIX = "NL";
+    private final int VERSION = 1;
+
+    /**
+     * Encode a loadout.
+     *
+     * @throws IllegalStateException if the loadout can't be encoded, so nothing gets saved in its place
+     */
+    public String encode(List<ItemStack> items) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        if (items == null) items = new ArrayList<>();
+
+        try (DataOutputStream dataOutput = new DataOutputStream(outputStream)) {
+            dataOutput.writeByte(VERSION);
+            dataOutput.writeShort(items.size());
+
+            for (ItemStack item : items) {
+                if (item == null || item.getType().isAir()) {
+                    dataOutput.writeInt(0);
+                    continue;
+                }
+
+                byte[] bytes = item.serializeAsBytes();
+                dataOutput.writeInt(bytes.length);
+                dataOutput.write(bytes);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Occurred while encoding loadout " + e.getMessage(), e);
+        }
+
+        return PREFIX + VERSION + ":" + Base64.getEncoder().encodeToString(outputStream.toByteArray());
+    }
+
+    /**
+     * Decode a loadout.
+     *
+     * @return Decoded items, empty if the loadout can't be decoded
+     */
+    public List<ItemStack> decode(String encoded) {
+        if (encoded == null) return new ArrayList<>();
+        if (!isEncoded(encoded)) {
+            try {
+                List<ItemStack> items = ItemUtils.deserialize(encoded);
+                return items == null ? new ArrayList<>() : items;
+            } catch (IllegalArgumentException e) {
+                ServerUtils.error("Occurred while decoding legacy loadout " + e.getMessage());
+                return new ArrayList<>();
+            }
+        }
+
+        try (DataInputStream dataInput = new DataInputStream(new ByteArrayInputStream(Base64.getDecoder().decode(encoded.substring(encoded.indexOf(':') + 1))))) {
+            int version = dataInput.readUnsignedByte();
+            if (version != VERSION) {
+                ServerUtils.error("Unknown loadout version " + version);
+                return new ArrayList<>();
+            }
+
+            int size = dataInput.readUnsignedShort();
+            List<ItemStack> items = new ArrayList<>(size);
+
+            for (int i = 0; i < size; i++) {
+                int length = dataInput.readInt();
+                if (length == 0) {
+                    items.add(null);
+                    continue;
+                }
+
+                byte[] bytes = new byte[length];
+                dataInput.readFully(bytes);
+                items.add(ItemStack.deserializeBytes(bytes));
+            }
+
+            return items;
+        } catch (IOException | IllegalArgumentException e) {
+            ServerUtils.error("Occurred while decoding loadout " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Whether a string uses this format, legacy strings are plain Base64 and never contain a colon.
+     */
+    public boolean isEncoded(String encoded) {
+        return encoded.startsWith(PREFIX) && encoded.indexOf(':') > 0;
+    }
+}
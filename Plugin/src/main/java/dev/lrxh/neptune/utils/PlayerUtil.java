@@ -136,6 +136,10 @@ public class PlayerUtil {
     }
 
     public void sendMessage(UUID playerUUID, List<Object> content) {
+        sendMessage(playerUUID, toComponent(content));
+    }
+
+    public Component toComponent(List<Object> content) {
         TextComponent.Builder builder = Component.text();
 
         for (Object obj : content) {
@@ -146,7 +150,7 @@ public class PlayerUtil {
             }
         }
 
-        sendMessage(playerUUID, builder);
+        return builder.build();
     }
 
     public void sendMessage(UUID playerUUID, Object message) {
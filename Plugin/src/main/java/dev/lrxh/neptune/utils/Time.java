@@ -11,12 +11,18 @@ public class Time {
     }
 
     public String formatTime() {
+        return format(getElapsed());
+    }
+
+    public long getElapsed() {
         if (!stop) {
             lastCurrentTime = System.currentTimeMillis();
         }
 
-        long elapsedTime = lastCurrentTime - oldTime;
+        return lastCurrentTime - oldTime;
+    }
 
+    public static String format(long elapsedTime) {
         long minutes = (elapsedTime / 1000) / 60;
         long seconds = (elapsedTime / 1000) % 60;
 
@@ -13,6 +13,10 @@ public abstract class NeptuneRunnable extends BukkitRunnable {
         TaskScheduler.get().startTask(this, 0L, period);
     }
 
+    public void startAsync(long period, Neptune plugin) {
+        TaskScheduler.get().startTaskAsynchronously(this, period, period);
+    }
+
     public void start(Neptune plugin) {
         TaskScheduler.get().startTask(this);
     }
@@ -20,6 +20,11 @@ public class TaskScheduler {
         task.runTaskTimer(Neptune.get(), delay, period);
     }
 
+    public void startTaskAsynchronously(NeptuneRunnable task, long delay, long period) {
+        tasks.add(task);
+        task.runTaskTimerAsynchronously(Neptune.get(), delay, period);
+    }
+
     public void startTask(NeptuneRunnable task) {
         tasks.add(task);
         task.runTask(Neptune.get());
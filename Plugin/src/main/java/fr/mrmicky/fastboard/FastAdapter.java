@@ -8,4 +8,32 @@ public interface FastAdapter {
     String getTitle(Player player);
 
     List<String> getLines(Player player);
+
+    /**
+     * @return how many ticks to wait before the board of this player is updated again
+     */
+    default int getRefreshTicks(Player player) {
+        return 5;
+    }
+
+    /**
+     * Called on the main thread, the returned snapshot may be read from render threads
+     * so it must not touch the player or other live state.
+     */
+    default FastSnapshot snapshot(Player player) {
+        String title = getTitle(player);
+        List<String> lines = List.copyOf(getLines(player));
+
+        return new FastSnapshot() {
+            @Override
+            public String getTitle() {
+                return title;
+            }
+
+            @Override
+            public List<String> getLines() {
+                return lines;
+            }
+        };
+    }
 }
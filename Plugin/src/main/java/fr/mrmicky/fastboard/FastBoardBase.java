@@ -34,6 +34,7 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.*;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Stream;
 
 /**
@@ -51,6 +52,7 @@ public abstract class FastBoardBase<T> {
             .map(Object::toString)
             .toArray(String[]::new);
     private static final Map<Class<?>, Field[]> PACKETS = new HashMap<>(8);
+    private static final AtomicLong PACKETS_SENT = new AtomicLong();
     private static final VersionType VERSION_TYPE;
     // Packets and components
     private static final Class<?> CHAT_COMPONENT_CLASS;
@@ -759,9 +761,19 @@ public abstract class FastBoardBase<T> {
             Object entityPlayer = PLAYER_GET_HANDLE.invoke(this.player);
             Object playerConnection = PLAYER_CONNECTION.invoke(entityPlayer);
             SEND_PACKET.invoke(playerConnection, packet);
+            PACKETS_SENT.incrementAndGet();
         }
     }
 
+    /**
+     * Get the amount of scoreboard packets sent by every board since startup.
+     *
+     * @return the amount of packets sent
+     */
+    public static long getPacketsSent() {
+        return PACKETS_SENT.get();
+    }
+
     private void setField(Object object, Class<?> fieldType, Object value)
             throws ReflectiveOperationException {
         setField(object, fieldType, value, 0);
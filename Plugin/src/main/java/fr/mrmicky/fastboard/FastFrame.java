@@ -0,0 +1,70 @@
+package fr.mrmicky.fastboard;
+
+import dev.lrxh.neptune.utils.CC;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Last rendered state of a board, unchanged lines are neither colored nor sent again.
+ */
+public class FastFrame {
+    private final List<String> rawLines = new ArrayList<>();
+    private final List<String> coloredLines = new ArrayList<>();
+    private String rawTitle;
+    private long nextRefresh;
+
+    public boolean isDue(long tick) {
+        return tick >= nextRefresh;
+    }
+
+    public void schedule(long tick) {
+        nextRefresh = tick;
+    }
+
+    /**
+     * Render a frame on the board.
+     *
+     * @param board the board to render on
+     * @param title the uncolored title
+     * @param lines the uncolored lines
+     * @return amount of title and lines that were unchanged and not colored again
+     */
+    public int render(FastBoard board, String title, List<String> lines) {
+        int skipped = 0;
+
+        if (!title.equals(rawTitle)) {
+            rawTitle = title;
+            board.updateTitle(CC.color(title));
+        } else {
+            skipped++;
+        }
+
+        boolean linesChanged = lines.size() != rawLines.size();
+        while (rawLines.size() > lines.size()) {
+            rawLines.remove(rawLines.size() - 1);
+            coloredLines.remove(coloredLines.size() - 1);
+        }
+
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i);
+            if (i < rawLines.size()) {
+                if (line.equals(rawLines.get(i))) {
+                    skipped++;
+                    continue;
+                }
+
+                rawLines.set(i, line);
+                coloredLines.set(i, CC.color(line));
+            } else {
+                rawLines.add(line);
+                coloredLines.add(CC.color(line));
+            }
+            linesChanged = true;
+        }
+
+        if (linesChanged) board.updateLines(coloredLines);
+
+        return skipped;
+    }
+}
@@ -22,6 +22,7 @@ public class FastListener implements Listener {
         Player player = event.getPlayer();
 
         FastBoard board = manager.boards.remove(player.getUniqueId());
+        manager.frames.remove(player.getUniqueId());
 
         if (board != null) {
             board.delete();
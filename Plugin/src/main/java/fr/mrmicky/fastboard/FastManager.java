@@ -4,15 +4,96 @@ import org.bukkit.plugin.java.JavaPlugin;
 
 import java.util.HashMap;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
 public class FastManager {
+    protected final JavaPlugin plugin;
     protected final FastAdapter fastAdapter;
     protected final HashMap<UUID, FastBoard> boards;
+    protected final HashMap<UUID, FastFrame> frames;
+    protected final int threads;
+    protected final ExecutorService executor;
+    protected final AtomicBoolean rendering = new AtomicBoolean();
+    protected final LongAdder skipped = new LongAdder();
+    protected long tick;
+    private long windowStart = System.currentTimeMillis();
+    private long windowSent;
+    private volatile long packetsPerSecond;
+    private volatile long skippedPerSecond;
 
     public FastManager(JavaPlugin plugin, FastAdapter fastAdapter) {
+        this(plugin, fastAdapter, 0);
+    }
+
+    /**
+     * @param threads amount of threads built lines are colored and sent on, 0 does it on the main thread
+     */
+    public FastManager(JavaPlugin plugin, FastAdapter fastAdapter, int threads) {
+        this.plugin = plugin;
         this.fastAdapter = fastAdapter;
         this.boards = new HashMap<>();
+        this.frames = new HashMap<>();
+        this.threads = Math.max(0, threads);
+        this.executor = this.threads == 0 ? null : Executors.newFixedThreadPool(this.threads, new RenderThreadFactory());
         plugin.getServer().getPluginManager().registerEvents(new FastListener(this), plugin);
-        plugin.getServer().getScheduler().runTaskTimer(plugin, new FastRunnable(this), 0, 5L);
+        plugin.getServer().getScheduler().runTaskTimer(plugin, new FastRunnable(this), 0, 1L);
+    }
+
+    /**
+     * Update the board of a player on the next tick regardless of its refresh rate.
+     */
+    public void refresh(UUID uuid) {
+        FastFrame frame = frames.get(uuid);
+        if (frame != null) frame.schedule(tick);
+    }
+
+    public void shutdown() {
+        if (executor != null) executor.shutdownNow();
+    }
+
+    /**
+     * Record how many packets a run sent.
+     */
+    protected synchronized void record(long sent) {
+        windowSent += sent;
+
+        long now = System.currentTimeMillis();
+        long elapsed = now - windowStart;
+        if (elapsed >= 1000) {
+            packetsPerSecond = windowSent * 1000 / elapsed;
+            skippedPerSecond = skipped.sumThenReset() * 1000 / elapsed;
+            windowSent = 0;
+            windowStart = now;
+        }
+    }
+
+    /**
+     * @return scoreboard packets sent per second over the last window
+     */
+    public long getPacketsPerSecond() {
+        return packetsPerSecond;
+    }
+
+    /**
+     * @return titles and lines per second that were unchanged and not colored again over the last window
+     */
+    public long getSkippedPerSecond() {
+        return skippedPerSecond;
+    }
+
+    private static class RenderThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "FastBoard Render #" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
     }
 }
@@ -1,6 +1,5 @@
 package fr.mrmicky.fastboard;
 
-import dev.lrxh.neptune.utils.CC;
 import lombok.AllArgsConstructor;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
@@ -9,6 +8,8 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Level;
 
 @AllArgsConstructor
 public class FastRunnable implements Runnable {
@@ -16,17 +17,61 @@ public class FastRunnable implements Runnable {
 
     @Override
     public void run() {
+        long tick = manager.tick++;
+        // Boards still rendering from an earlier tick stay due and are picked up once it finishes
+        if (manager.rendering.get()) return;
+
+        long sentBefore = FastBoardBase.getPacketsSent();
+        List<Runnable> due = new ArrayList<>();
+
         for (Map.Entry<UUID, FastBoard> entry : manager.boards.entrySet()) {
             Player player = Bukkit.getPlayer(entry.getKey());
+            if (player == null) continue;
+
             FastBoard board = entry.getValue();
-            board.updateTitle(CC.color(manager.fastAdapter.getTitle(player)));
+            FastFrame frame = manager.frames.computeIfAbsent(entry.getKey(), k -> new FastFrame());
+
+            if (frame.isDue(tick)) {
+                frame.schedule(tick + Math.max(1, manager.fastAdapter.getRefreshTicks(player)));
+
+                // Live state is captured here on the main thread, shards build the text from the snapshot
+                String name = player.getName();
+                FastSnapshot snapshot = manager.fastAdapter.snapshot(player);
+                due.add(() -> render(name, board, frame, snapshot));
+            }
+        }
+
+        if (manager.executor == null || due.isEmpty()) {
+            due.forEach(Runnable::run);
+            manager.record(FastBoardBase.getPacketsSent() - sentBefore);
+            return;
+        }
+
+        manager.rendering.set(true);
+
+        int shards = Math.min(manager.threads, due.size());
+        CompletableFuture<?>[] futures = new CompletableFuture[shards];
+        for (int shard = 0; shard < shards; shard++) {
+            List<Runnable> slice = due.subList(due.size() * shard / shards, due.size() * (shard + 1) / shards);
+            futures[shard] = CompletableFuture.runAsync(() -> slice.forEach(Runnable::run), manager.executor);
+        }
+
+        CompletableFuture.allOf(futures).whenComplete((ignored, throwable) -> {
+            manager.record(FastBoardBase.getPacketsSent() - sentBefore);
+            manager.rendering.set(false);
+        });
+    }
 
-            List<String> lines = new ArrayList<>();
+    private void render(String name, FastBoard board, FastFrame frame, FastSnapshot snapshot) {
+        if (board.isDeleted()) return;
 
-            for (String i : manager.fastAdapter.getLines(player)) {
-                lines.add(CC.color(i));
+        try {
+            manager.skipped.add(frame.render(board, snapshot.getTitle(), snapshot.getLines()));
+        } catch (RuntimeException e) {
+            // The player can quit while its board is being sent off the main thread
+            if (!board.isDeleted()) {
+                manager.plugin.getLogger().log(Level.WARNING, "Unable to update the scoreboard of " + name, e);
             }
-            board.updateLines(lines);
         }
     }
 }
@@ -0,0 +1,13 @@
+package fr.mrmicky.fastboard;
+
+import java.util.List;
+
+/**
+ * Board content captured on the main thread, the text itself is built when the board is rendered
+ * which can happen off the main thread.
+ */
+public interface FastSnapshot {
+    String getTitle();
+
+    List<String> getLines();
+}
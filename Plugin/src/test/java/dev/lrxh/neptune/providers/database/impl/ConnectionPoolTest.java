@@ -0,0 +1,108 @@
+package dev.lrxh.neptune.providers.database.impl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConnectionPoolTest {
+    private final AtomicInteger opened = new AtomicInteger();
+    @TempDir
+    Path folder;
+    private ConnectionPool pool;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        pool = new ConnectionPool("jdbc:sqlite:" + folder.resolve("pool.db"), 2, connection -> opened.incrementAndGet());
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    void opensEveryConnectionUpFront() {
+        assertEquals(2, pool.getSize());
+        assertEquals(2, pool.getIdle());
+        assertEquals(2, opened.get());
+    }
+
+    @Test
+    void connectionsAreCheckedOutAndReturned() throws SQLException {
+        pool.execute(outer -> {
+            assertEquals(1, pool.getIdle());
+            return pool.execute(inner -> {
+                assertNotSame(outer, inner);
+                assertEquals(0, pool.getIdle());
+                return null;
+            });
+        });
+
+        assertEquals(2, pool.getIdle());
+    }
+
+    @Test
+    void connectionIsReturnedWhenTheFunctionFails() {
+        assertThrows(SQLException.class, () -> pool.execute(connection -> {
+            throw new SQLException("failed");
+        }));
+
+        assertEquals(2, pool.getIdle());
+        assertEquals(2, opened.get());
+    }
+
+    @Test
+    void statementsAreCachedPerConnection() throws SQLException {
+        pool.execute(connection -> {
+            PreparedStatement statement = connection.prepare("SELECT ?");
+            statement.setInt(1, 1);
+            assertSame(statement, connection.prepare("SELECT ?"));
+            return null;
+        });
+    }
+
+    @Test
+    void retriesOnAFreshConnectionAfterItWasClosed() throws SQLException {
+        AtomicInteger calls = new AtomicInteger();
+
+        int value = pool.execute(connection -> {
+            if (calls.getAndIncrement() == 0) connection.getConnection().close();
+            return selectValue(connection);
+        });
+
+        assertEquals(42, value);
+        assertEquals(2, calls.get());
+        assertEquals(3, opened.get());
+        assertEquals(2, pool.getIdle());
+    }
+
+    @Test
+    void executeOnceDoesNotRetry() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(SQLException.class, () -> pool.executeOnce(connection -> {
+            calls.incrementAndGet();
+            connection.getConnection().close();
+            return selectValue(connection);
+        }));
+
+        assertEquals(1, calls.get());
+        assertEquals(2, pool.getIdle());
+    }
+
+    private int selectValue(ConnectionPool.PooledConnection connection) throws SQLException {
+        try (ResultSet resultSet = connection.prepare("SELECT 42").executeQuery()) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package dev.lrxh.neptune.providers.database.impl;
+
+import dev.lrxh.neptune.Neptune;
+import dev.lrxh.neptune.configs.ConfigService;
+import dev.lrxh.neptune.utils.ConfigFile;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.lang.reflect.Field;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the SQLite database against a temporary folder, the plugin is mocked and only the settings config is loaded.
+ */
+abstract class DatabaseTest {
+    @TempDir
+    Path folder;
+    YamlConfiguration settings;
+    private final List<SQLiteDatabase> opened = new ArrayList<>();
+
+    @BeforeEach
+    void setUpPlugin() throws ReflectiveOperationException {
+        Neptune plugin = mock(Neptune.class);
+        when(plugin.getDataFolder()).thenReturn(folder.resolve("Neptune").toFile());
+        when(plugin.getLogger()).thenReturn(Logger.getLogger("Neptune"));
+        set(Neptune.class, null, "instance", plugin);
+
+        ConfigFile config = new ConfigFile("settings");
+        set(ConfigService.class, ConfigService.get(), "mainConfig", config);
+
+        settings = config.getConfiguration();
+        settings.set("DATABASE.POOL_SIZE", 2);
+        settings.set("DATABASE.FETCH_SIZE", 500);
+        settings.set("DATABASE.NORMALIZED", false);
+    }
+
+    @AfterEach
+    void closeDatabases() {
+        opened.forEach(SQLiteDatabase::close);
+    }
+
+    SQLiteDatabase open(boolean normalized) {
+        settings.set("DATABASE.NORMALIZED", normalized);
+
+        SQLiteDatabase database = new SQLiteDatabase();
+        database.load();
+        opened.add(database);
+        return database;
+    }
+
+    static DataDocument profile(UUID uuid, String username, int wins) {
+        DataDocument kit = new DataDocument();
+        kit.put("WINS", wins);
+        kit.put("LOSSES", 3);
+        kit.put("WIN_STREAK_CURRENT", 1);
+        kit.put("WIN_STREAK_BEST", 4);
+        kit.put("DIVISION", "Gold");
+        kit.put("kit", "loadout-" + username);
+
+        DataDocument kitData = new DataDocument();
+        kitData.put("Sword", kit);
+        kitData.put("GLOBAL_WINS", wins);
+        kitData.put("GLOBAL_LOSSES", 3);
+        kitData.put("GLOBAL_WIN_STREAK_CURRENT", 1);
+        kitData.put("lastPlayedKit", "Sword");
+
+        DataDocument settings = new DataDocument();
+        settings.put("showPlayers", true);
+        settings.put("allowSpectators", false);
+        settings.put("allowDuels", true);
+        settings.put("allowParty", true);
+        settings.put("maxPing", 120);
+        settings.put("killEffect", "NONE");
+        settings.put("menuSound", false);
+        settings.put("deathMessagePackage", "default");
+
+        DataDocument document = new DataDocument();
+        document.put("uuid", uuid.toString());
+        document.put("username", username);
+        document.put("kitData", kitData);
+        document.put("settings", settings);
+        document.put("history", new ArrayList<>(List.of("win against Notch", "loss against jeb_")));
+        return document;
+    }
+
+    private static void set(Class<?> type, Object target, String name, Object value) throws ReflectiveOperationException {
+        Field field = type.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+}
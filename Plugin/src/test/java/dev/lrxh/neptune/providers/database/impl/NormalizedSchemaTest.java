@@ -0,0 +1,140 @@
+package dev.lrxh.neptune.providers.database.impl;
+
+import dev.lrxh.neptune.game.leaderboard.impl.LeaderboardType;
+import dev.lrxh.neptune.game.leaderboard.impl.PlayerEntry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NormalizedSchemaTest extends DatabaseTest {
+
+    @Test
+    void migratesStoredProfilesOnLoad() {
+        UUID uuid = UUID.randomUUID();
+        SQLiteDatabase blob = open(false);
+        blob.replace(uuid, profile(uuid, "lrxh", 10));
+        blob.close();
+
+        SQLiteDatabase database = open(true);
+        DataDocument document = database.getUserData(uuid);
+
+        assertTrue(database.hasPartialUpdates());
+        assertNotNull(document);
+        assertEquals("lrxh", document.getString("username"));
+        assertEquals(10, document.getDataDocument("kitData").getInteger("GLOBAL_WINS", 0));
+        assertEquals(10, document.getDataDocument("kitData").getDataDocument("Sword").getInteger("WINS", 0));
+        assertEquals("Gold", document.getDataDocument("kitData").getDataDocument("Sword").getString("DIVISION"));
+        assertEquals("loadout-lrxh", document.getDataDocument("kitData").getDataDocument("Sword").getString("kit"));
+        assertFalse(document.getDataDocument("settings").getBoolean("allowSpectators", true));
+        assertEquals(List.of("win against Notch", "loss against jeb_"), document.getList("history", null));
+    }
+
+    @Test
+    void migrationOnlyRunsOnce() {
+        UUID uuid = UUID.randomUUID();
+        SQLiteDatabase blob = open(false);
+        blob.replace(uuid, profile(uuid, "lrxh", 10));
+        blob.close();
+
+        SQLiteDatabase database = open(true);
+        database.replace(uuid, profile(uuid, "lrxh", 20));
+        database.close();
+
+        // The old playerData row still has 10 wins and must not be copied over the normalized write
+        assertEquals(20, open(true).getUserData(uuid).getDataDocument("kitData").getInteger("GLOBAL_WINS", 0));
+    }
+
+    @Test
+    void blobStorageInvalidatesTheMigration() {
+        UUID uuid = UUID.randomUUID();
+        open(true).close();
+
+        SQLiteDatabase blob = open(false);
+        blob.replace(uuid, profile(uuid, "lrxh", 10));
+        blob.close();
+
+        // Writes made while the schema was off have to be migrated again once it is back on
+        assertEquals(10, open(true).getUserData(uuid).getDataDocument("kitData").getInteger("GLOBAL_WINS", 0));
+    }
+
+    @Test
+    void updateOnlyWritesTheChangedFields() {
+        SQLiteDatabase database = open(true);
+        UUID uuid = UUID.randomUUID();
+        database.replace(uuid, profile(uuid, "lrxh", 10));
+
+        DataDocument changes = new DataDocument();
+        changes.getDataDocument("kitData").put("GLOBAL_WINS", 11);
+        DataDocument kit = changes.getDataDocument("kitData").getDataDocument("Sword");
+        kit.put("WINS", 11);
+        kit.put("LOSSES", 3);
+        kit.put("WIN_STREAK_CURRENT", 2);
+        kit.put("WIN_STREAK_BEST", 4);
+
+        assertTrue(database.update(uuid, changes));
+
+        DataDocument document = database.getUserData(uuid);
+        assertEquals(11, document.getDataDocument("kitData").getInteger("GLOBAL_WINS", 0));
+        assertEquals(11, document.getDataDocument("kitData").getDataDocument("Sword").getInteger("WINS", 0));
+        assertEquals(2, document.getDataDocument("kitData").getDataDocument("Sword").getInteger("WIN_STREAK_CURRENT", 0));
+        assertEquals("loadout-lrxh", document.getDataDocument("kitData").getDataDocument("Sword").getString("kit"));
+        assertEquals("lrxh", document.getString("username"));
+        assertEquals(120, document.getDataDocument("settings").getInteger("maxPing", 0));
+        assertEquals(2, document.getList("history", null).size());
+    }
+
+    @Test
+    void updateOfAMissingProfileIsRefused() {
+        DataDocument changes = new DataDocument();
+        changes.put("username", "lrxh");
+
+        assertFalse(open(true).update(UUID.randomUUID(), changes));
+    }
+
+    @Test
+    void streamPagesThroughEveryProfile() {
+        settings.set("DATABASE.FETCH_SIZE", 2);
+        SQLiteDatabase database = open(true);
+        Map<UUID, DataDocument> documents = new LinkedHashMap<>();
+        for (int i = 0; i < 5; i++) {
+            UUID uuid = UUID.randomUUID();
+            documents.put(uuid, profile(uuid, "player" + i, i));
+        }
+        database.replace(documents);
+
+        List<DataDocument> streamed = new ArrayList<>();
+        database.forEach(streamed::add, "username", "kitData");
+
+        assertEquals(5, streamed.size());
+        for (DataDocument document : streamed) {
+            DataDocument stored = documents.get(UUID.fromString(document.getString("uuid")));
+            assertEquals(stored.getString("username"), document.getString("username"));
+            assertEquals(stored.getDataDocument("kitData").getInteger("GLOBAL_WINS", -1), document.getDataDocument("kitData").getInteger("GLOBAL_WINS", 0));
+            assertFalse(document.data.containsKey("settings"));
+            assertFalse(document.data.containsKey("history"));
+        }
+    }
+
+    @Test
+    void topIsRankedByTheDatabase() {
+        SQLiteDatabase database = open(true);
+        Map<UUID, DataDocument> documents = new LinkedHashMap<>();
+        for (int i = 0; i < 4; i++) {
+            UUID uuid = UUID.randomUUID();
+            documents.put(uuid, profile(uuid, "player" + i, i * 5));
+        }
+        database.replace(documents);
+
+        List<PlayerEntry> top = database.getTop("Sword", LeaderboardType.WINS, 2);
+
+        assertTrue(database.hasRankedQueries());
+        assertEquals(List.of("player3", "player2"), top.stream().map(PlayerEntry::getUsername).toList());
+        assertEquals(15, top.get(0).getValue());
+    }
+}
@@ -0,0 +1,112 @@
+package dev.lrxh.neptune.providers.database.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SQLiteDatabaseTest extends DatabaseTest {
+
+    @Test
+    void replaceAndReadRoundTrip() {
+        SQLiteDatabase database = open(false);
+        UUID uuid = UUID.randomUUID();
+
+        database.replace(uuid, profile(uuid, "lrxh", 10));
+        DataDocument document = database.getUserData(uuid);
+
+        assertNotNull(document);
+        assertEquals("lrxh", document.getString("username"));
+        assertEquals(10, document.getDataDocument("kitData").getDataDocument("Sword").getInteger("WINS", 0));
+        assertEquals("loadout-lrxh", document.getDataDocument("kitData").getDataDocument("Sword").getString("kit"));
+        assertEquals(120, document.getDataDocument("settings").getInteger("maxPing", 0));
+        assertEquals(List.of("win against Notch", "loss against jeb_"), document.getList("history", null));
+    }
+
+    @Test
+    void missingProfileReadsAsNull() {
+        assertNull(open(false).getUserData(UUID.randomUUID()));
+    }
+
+    @Test
+    void replaceOverwritesTheStoredProfile() {
+        SQLiteDatabase database = open(false);
+        UUID uuid = UUID.randomUUID();
+
+        database.replace(uuid, profile(uuid, "lrxh", 10));
+        database.replace(uuid, profile(uuid, "lrxh", 11));
+
+        assertEquals(11, database.getUserData(uuid).getDataDocument("kitData").getInteger("GLOBAL_WINS", 0));
+        assertEquals(1, database.getAll().size());
+    }
+
+    @Test
+    void batchReplaceWritesEveryProfile() {
+        SQLiteDatabase database = open(false);
+        Map<UUID, DataDocument> documents = new LinkedHashMap<>();
+        for (int i = 0; i < 3; i++) {
+            UUID uuid = UUID.randomUUID();
+            documents.put(uuid, profile(uuid, "player" + i, i));
+        }
+
+        database.replace(documents);
+
+        assertEquals(3, database.getAll().size());
+        documents.forEach((uuid, document) -> assertEquals(document.getString("username"), database.getUserData(uuid).getString("username")));
+    }
+
+    @Test
+    void forEachKeepsOnlyTheRequestedFields() {
+        SQLiteDatabase database = open(false);
+        UUID uuid = UUID.randomUUID();
+        database.replace(uuid, profile(uuid, "lrxh", 10));
+
+        List<DataDocument> documents = new ArrayList<>();
+        database.forEach(documents::add, "username");
+
+        assertEquals(1, documents.size());
+        assertEquals(Set.of("uuid", "username"), documents.get(0).data.keySet());
+    }
+
+    @Test
+    void projectedFieldsKeepTheirTypes() {
+        SQLiteDatabase database = open(false);
+        UUID uuid = UUID.randomUUID();
+        database.replace(uuid, profile(uuid, "lrxh", 10));
+
+        List<DataDocument> documents = new ArrayList<>();
+        database.forEach(documents::add, "kitData", "settings", "history");
+
+        DataDocument document = documents.get(0);
+        assertEquals(uuid.toString(), document.getString("uuid"));
+        assertEquals(10, document.getDataDocument("kitData").getDataDocument("Sword").getInteger("WINS", 0));
+        assertFalse(document.getDataDocument("settings").getBoolean("allowSpectators", true));
+        assertEquals(List.of("win against Notch", "loss against jeb_"), document.getList("history", null));
+        assertFalse(document.data.containsKey("username"));
+    }
+
+    @Test
+    void updateMergesChangesIntoTheStoredProfile() {
+        SQLiteDatabase database = open(false);
+        UUID uuid = UUID.randomUUID();
+        database.replace(uuid, profile(uuid, "lrxh", 10));
+
+        DataDocument changes = new DataDocument();
+        changes.getDataDocument("kitData").getDataDocument("Sword").put("WINS", 11);
+
+        assertFalse(database.hasPartialUpdates());
+        assertTrue(database.update(uuid, changes));
+        assertFalse(database.update(UUID.randomUUID(), changes));
+
+        DataDocument document = database.getUserData(uuid);
+        assertEquals(11, document.getDataDocument("kitData").getDataDocument("Sword").getInteger("WINS", 0));
+        assertEquals(3, document.getDataDocument("kitData").getDataDocument("Sword").getInteger("LOSSES", 0));
+        assertEquals("lrxh", document.getString("username"));
+    }
+}